@@ -0,0 +1,44 @@
+package com.moodyclues.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moodyclues.model.JournalEntry;
+
+// Response body of the entry listings: one page, a large page, and the unpaged cap
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JournalEntrySerializationBenchmark {
+
+	@Param({ "20", "100", "1000" })
+	int entries;
+	
+	private ObjectMapper mapper;
+	
+	private List<JournalEntry> list;
+	
+	@Setup
+	public void setUp() {
+		mapper = Jackson2ObjectMapperBuilder.json().build();
+		list = SyntheticData.journalEntries(entries);
+	}
+	
+	@Benchmark
+	public byte[] serializeEntries() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(list);
+	}
+	
+}
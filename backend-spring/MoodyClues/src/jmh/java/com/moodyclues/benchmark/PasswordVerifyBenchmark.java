@@ -0,0 +1,39 @@
+package com.moodyclues.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Cost of one login's password check at the default strength (10) and above
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordVerifyBenchmark {
+
+	@Param({ "10", "12" })
+	int strength;
+	
+	private BCryptPasswordEncoder encoder;
+	
+	private String hash;
+	
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		hash = encoder.encode("Password123!");
+	}
+	
+	@Benchmark
+	public boolean matches() {
+		return encoder.matches("Password123!", hash);
+	}
+	
+}
@@ -0,0 +1,143 @@
+package com.moodyclues.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import com.moodyclues.model.Emotion;
+import com.moodyclues.model.JournalEntry;
+import com.moodyclues.projection.EmotionCount;
+import com.moodyclues.projection.HabitsDayFlat;
+import com.moodyclues.projection.JournalDailyAgg;
+
+// Seeded fake rows shaped like the rollup projections and entries, so runs are comparable
+public final class SyntheticData {
+
+	private static final String[] LABELS = {
+			"angry", "anxious", "calm", "excited", "grateful", "happy", "lonely", "sad", "stressed", "tired" };
+	
+	private SyntheticData() {
+	}
+	
+	// Plain getter classes rather than records, so Jackson sees the same property names
+	// as on the Spring Data projection proxies
+	public static final class JournalDay implements JournalDailyAgg {
+		private final LocalDate day;
+		private final Double avgMood;
+		private final String entries;
+		
+		JournalDay(LocalDate day, Double avgMood, String entries) {
+			this.day = day;
+			this.avgMood = avgMood;
+			this.entries = entries;
+		}
+		
+		public LocalDate getDay() { return day; }
+		public Double getAvgMood() { return avgMood; }
+		public String getEntries() { return entries; }
+	}
+	
+	public static final class HabitsDay implements HabitsDayFlat {
+		private final LocalDate day;
+		private final Double sleep;
+		private final Double water;
+		private final Double workHours;
+		
+		HabitsDay(LocalDate day, Double sleep, Double water, Double workHours) {
+			this.day = day;
+			this.sleep = sleep;
+			this.water = water;
+			this.workHours = workHours;
+		}
+		
+		public LocalDate getDay() { return day; }
+		public Double getSleep() { return sleep; }
+		public Double getWater() { return water; }
+		public Double getWorkHours() { return workHours; }
+	}
+	
+	public static final class Emotions implements EmotionCount {
+		private final String emotion;
+		private final Long cnt;
+		
+		Emotions(String emotion, Long cnt) {
+			this.emotion = emotion;
+			this.cnt = cnt;
+		}
+		
+		public String getEmotion() { return emotion; }
+		public Long getCnt() { return cnt; }
+	}
+	
+	public static List<JournalDailyAgg> journalDays(LocalDate to, int days) {
+		Random rnd = new Random(days);
+		List<JournalDailyAgg> rows = new ArrayList<>(days);
+		for (LocalDate d = to.minusDays(days - 1); !d.isAfter(to); d = d.plusDays(1)) {
+			rows.add(new JournalDay(d, 1 + rnd.nextDouble() * 4, String.valueOf(1 + rnd.nextInt(3))));
+		}
+		return rows;
+	}
+	
+	public static List<HabitsDayFlat> habitsDays(LocalDate to, int days) {
+		Random rnd = new Random(days + 1L);
+		List<HabitsDayFlat> rows = new ArrayList<>(days);
+		for (LocalDate d = to.minusDays(days - 1); !d.isAfter(to); d = d.plusDays(1)) {
+			rows.add(new HabitsDay(d, 5 + rnd.nextDouble() * 4, 1 + rnd.nextDouble() * 2, rnd.nextDouble() * 10));
+		}
+		return rows;
+	}
+	
+	public static List<EmotionCount> emotionCounts(int days) {
+		Random rnd = new Random(days + 2L);
+		List<EmotionCount> rows = new ArrayList<>();
+		for (String label : LABELS) {
+			rows.add(new Emotions(label, (long) rnd.nextInt(days * 2 + 1)));
+		}
+		return rows;
+	}
+	
+	public static List<JournalEntry> journalEntries(int count) {
+		Random rnd = new Random(count);
+		List<Emotion> emotions = new ArrayList<>();
+		for (String label : LABELS) {
+			Emotion emo = new Emotion();
+			emo.setId("emo-" + label);
+			emo.setEmotionLabel(label);
+			emotions.add(emo);
+		}
+		
+		LocalDateTime now = LocalDateTime.of(2025, 1, 1, 21, 0);
+		List<JournalEntry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			JournalEntry e = new JournalEntry();
+			e.setId("entry-" + i);
+			e.setCreatedAt(now.minusHours(8L * i));
+			e.setLastSavedAt(e.getCreatedAt());
+			e.setMood(1 + rnd.nextInt(5));
+			e.setEntryTitle("Evening check-in " + i);
+			e.setEntryText("Long day at work, went for a walk after dinner and felt a bit better before bed.");
+			e.getEmotions().add(emotions.get(rnd.nextInt(emotions.size())));
+			e.getEmotions().add(emotions.get(rnd.nextInt(emotions.size())));
+			entries.add(e);
+		}
+		return entries;
+	}
+	
+	// Repository stand-in: each listed method name answers from the map, anything else fails
+	@SuppressWarnings("unchecked")
+	public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			Function<Object[], Object> answer = answers.get(method.getName());
+			if (answer == null) {
+				throw new UnsupportedOperationException(method.getName());
+			}
+			return answer.apply(args);
+		});
+	}
+	
+}
@@ -0,0 +1,85 @@
+package com.moodyclues.serviceimpl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moodyclues.benchmark.SyntheticData;
+import com.moodyclues.cache.DashboardPayloadCache;
+import com.moodyclues.projection.EmotionCount;
+import com.moodyclues.projection.HabitsDayFlat;
+import com.moodyclues.projection.JournalDailyAgg;
+import com.moodyclues.repository.EmotionDailyCountRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
+
+// getDashboardPayload with the cache off and in-memory rollup rows, so only the
+// aggregation and map building are measured, plus serializing the result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardPayloadBenchmark {
+
+	@Param({ "7", "30", "90", "365", "3650" })
+	int days;
+	
+	private DashboardServiceImpl service;
+	
+	private ObjectMapper mapper;
+	
+	private Map<String, Object> payload;
+	
+	private final LocalDate to = LocalDate.of(2025, 1, 1);
+	
+	private LocalDate from;
+	
+	@Setup
+	public void setUp() {
+		from = to.minusDays(days - 1);
+		
+		List<JournalDailyAgg> journal = SyntheticData.journalDays(to, days);
+		List<HabitsDayFlat> habits = SyntheticData.habitsDays(to, days);
+		List<EmotionCount> emotions = SyntheticData.emotionCounts(days);
+		
+		service = new DashboardServiceImpl();
+		service.statsRepo = SyntheticData.repository(UserDailyStatsRepository.class, Map.of(
+				"findJournalDailyBetween", args -> journal,
+				"findHabitsDailyBetween", args -> habits));
+		service.emotionCountRepo = SyntheticData.repository(EmotionDailyCountRepository.class, Map.of(
+				"sumBetween", args -> emotions));
+		service.payloadCache = new DashboardPayloadCache(false, 0, Duration.ZERO);
+		
+		// Same settings Spring Boot applies to the MVC converter
+		mapper = Jackson2ObjectMapperBuilder.json().build();
+		payload = service.getDashboardPayload("bench-user", null, from, to);
+	}
+	
+	@Benchmark
+	public Map<String, Object> buildPayload() {
+		return service.getDashboardPayload("bench-user", null, from, to);
+	}
+	
+	@Benchmark
+	public byte[] serializePayload() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(payload);
+	}
+	
+	@Benchmark
+	public byte[] buildAndSerialize() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(service.getDashboardPayload("bench-user", null, from, to));
+	}
+	
+}
@@ -0,0 +1,68 @@
+package com.moodyclues.bulkhead;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// A fixed number of requests of one traffic class that may use the database at once.
+// Callers wait up to maxWait for a permit, then give up (see BulkheadInterceptor).
+public class Bulkhead {
+
+	private final String name;
+
+	private final int permits;
+
+	private final Semaphore semaphore;
+
+	private final Duration maxWait;
+
+	private final Timer waitTimer;
+
+	private final Counter rejected;
+
+	public Bulkhead(String name, int permits, Duration maxWait, MeterRegistry registry) {
+		this.name = name;
+		this.permits = Math.max(1, permits);
+		this.semaphore = new Semaphore(this.permits, true);
+		this.maxWait = maxWait;
+
+		this.waitTimer = Timer.builder("moodyclues.bulkhead.wait")
+				.tag("bulkhead", name)
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(registry);
+		this.rejected = Counter.builder("moodyclues.bulkhead.rejected").tag("bulkhead", name).register(registry);
+		Gauge.builder("moodyclues.bulkhead.permits", this, b -> b.permits).tag("bulkhead", name).register(registry);
+		Gauge.builder("moodyclues.bulkhead.active", this, Bulkhead::active).tag("bulkhead", name).register(registry);
+		Gauge.builder("moodyclues.bulkhead.waiting", semaphore, Semaphore::getQueueLength).tag("bulkhead", name).register(registry);
+	}
+
+	// False when no permit came free within maxWait
+	public boolean tryAcquire() throws InterruptedException {
+		long start = System.nanoTime();
+		boolean acquired = semaphore.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+		waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+		if (!acquired) {
+			rejected.increment();
+		}
+		return acquired;
+	}
+
+	public void release() {
+		semaphore.release();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int active() {
+		return permits - semaphore.availablePermits();
+	}
+
+}
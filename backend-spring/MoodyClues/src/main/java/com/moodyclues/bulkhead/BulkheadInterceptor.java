@@ -0,0 +1,139 @@
+package com.moodyclues.bulkhead;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Splits the connection pool between traffic classes so one cannot starve the
+// others: writes (every non-GET, journaling first of all), user reads (listings,
+// search, profile), analytics (dashboards) and export. Each class has its own permits
+// and wait; a request that gets no permit in time is answered 503 before it touches
+// the pool. Export is its own class because a streamed download keeps its permit
+// (and its connection) until the last row is sent. Login and register are exempt:
+// they only take a connection for a single short statement, and BoundedPasswordEncoder
+// already bounds them, so waiting on BCrypt never holds a write permit.
+// Keep the permits (plus the counsellor dashboard parallelism) within the Hikari pool
+// size, so a permit always means a connection is free.
+@Component
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+	private final AntPathMatcher matcher = new AntPathMatcher();
+
+	private final boolean enabled;
+
+	private final List<String> exemptPaths;
+
+	private final List<String> analyticsPaths;
+
+	private final List<String> exportPaths;
+
+	private final Bulkhead write;
+
+	private final Bulkhead userRead;
+
+	private final Bulkhead analytics;
+
+	private final Bulkhead export;
+
+	public BulkheadInterceptor(
+			@Value("${moodyclues.bulkhead.enabled:true}") boolean enabled,
+			@Value("${moodyclues.bulkhead.exempt-paths:/api/user/login,/api/user/register,/api/counsellor/login,/api/counsellor/register}") List<String> exemptPaths,
+			@Value("${moodyclues.bulkhead.analytics-paths:/api/dashboard/**,/api/counsellor/dashboard/**}") List<String> analyticsPaths,
+			@Value("${moodyclues.bulkhead.export-paths:/api/journal/export}") List<String> exportPaths,
+			@Value("${moodyclues.bulkhead.write.permits:6}") int writePermits,
+			@Value("${moodyclues.bulkhead.write.max-wait:2s}") Duration writeMaxWait,
+			@Value("${moodyclues.bulkhead.user-read.permits:6}") int userReadPermits,
+			@Value("${moodyclues.bulkhead.user-read.max-wait:1s}") Duration userReadMaxWait,
+			@Value("${moodyclues.bulkhead.analytics.permits:2}") int analyticsPermits,
+			@Value("${moodyclues.bulkhead.analytics.max-wait:500ms}") Duration analyticsMaxWait,
+			@Value("${moodyclues.bulkhead.export.permits:2}") int exportPermits,
+			@Value("${moodyclues.bulkhead.export.max-wait:0s}") Duration exportMaxWait,
+			MeterRegistry registry) {
+
+		this.enabled = enabled;
+		this.exemptPaths = exemptPaths;
+		this.analyticsPaths = analyticsPaths;
+		this.exportPaths = exportPaths;
+		this.write = new Bulkhead("write", writePermits, writeMaxWait, registry);
+		this.userRead = new Bulkhead("user-read", userReadPermits, userReadMaxWait, registry);
+		this.analytics = new Bulkhead("analytics", analyticsPermits, analyticsMaxWait, registry);
+		this.export = new Bulkhead("export", exportPermits, exportMaxWait, registry);
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws InterruptedException {
+
+		// A streamed export comes back here on its async dispatch, still holding its permit
+		if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC
+				|| request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+			return true;
+		}
+
+		Bulkhead bulkhead = classify(request);
+		if (bulkhead == null) {
+			return true;
+		}
+		if (!bulkhead.tryAcquire()) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server busy, try again shortly");
+		}
+		request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+		return true;
+	}
+
+	// Not called for a request that went async until its async part is done
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+
+		Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+		if (permit instanceof Bulkhead bulkhead) {
+			request.removeAttribute(PERMIT_ATTRIBUTE);
+			bulkhead.release();
+		}
+	}
+
+	// Null for the exempt routes
+	public Bulkhead classify(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (matches(exemptPaths, path)) {
+			return null;
+		}
+
+		String method = request.getMethod();
+		if (!"GET".equals(method) && !"HEAD".equals(method)) {
+			return write;
+		}
+
+		if (matches(exportPaths, path)) {
+			return export;
+		}
+		if (matches(analyticsPaths, path)) {
+			return analytics;
+		}
+		return userRead;
+	}
+
+	private boolean matches(List<String> patterns, String path) {
+		for (String pattern : patterns) {
+			if (matcher.match(pattern, path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.moodyclues.cache;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moodyclues.repository.CounsellorRepository;
+
+// Client ids per counsellor, for the "is this counsellor linked to this user" check
+// in front of every counsellor read. Loaded on first use, one indexed query per
+// counsellor. Links are only ever added (LinkRequestService.requestDecision), which
+// evicts the counsellor. A negative answer is re-checked with the single-pair COUNT,
+// so a link accepted on another node is never refused; the set is only reloaded when
+// that finds the link. Only a stale positive could outlive an unlink until the TTL.
+@Component
+public class CounsellorLinkCache {
+
+	private final boolean enabled;
+
+	private final Cache<String, Set<String>> cache;
+
+	@Autowired
+	CounsellorRepository cRepo;
+
+	public CounsellorLinkCache(
+			@Value("${moodyclues.link-cache.enabled:true}") boolean enabled,
+			@Value("${moodyclues.link-cache.max-size:10000}") long maxSize,
+			@Value("${moodyclues.link-cache.ttl:10m}") Duration ttl) {
+
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+	}
+
+	public boolean isLinked(String counsellorId, String journalUserId) {
+		if (!enabled) {
+			return cRepo.isLinkedTo(counsellorId, journalUserId);
+		}
+		if (counsellorId == null || journalUserId == null) {
+			return false;
+		}
+
+		if (cache.get(counsellorId, this::load).contains(journalUserId)) {
+			return true;
+		}
+
+		// Asking about a non-client must not reload the whole caseload each time
+		if (!cRepo.isLinkedTo(counsellorId, journalUserId)) {
+			return false;
+		}
+		cache.put(counsellorId, load(counsellorId));
+		return true;
+	}
+
+	// Same pattern as DashboardPayloadCache.evictUser
+	public void evictCounsellor(String counsellorId) {
+		if (!enabled || counsellorId == null) {
+			return;
+		}
+
+		cache.invalidate(counsellorId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cache.invalidate(counsellorId);
+				}
+			});
+		}
+	}
+
+	private Set<String> load(String counsellorId) {
+		return Set.copyOf(cRepo.findClientIds(counsellorId));
+	}
+
+	// For the Micrometer binding in MetricsConfig
+	public Cache<String, Set<String>> getCache() {
+		return cache;
+	}
+
+}
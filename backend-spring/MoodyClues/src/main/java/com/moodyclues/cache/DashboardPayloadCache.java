@@ -0,0 +1,110 @@
+package com.moodyclues.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Holds built /api/dashboard/window payloads per (user, resolved window).
+// A user's data only changes through EntryService, which evicts that user's
+// windows on every write. Eviction bumps a per-user generation that is part of the
+// key rather than removing entries: a payload still being built from pre-write data
+// lands under the old generation, which no later read asks for, and evicting is
+// O(1) instead of a scan of the whole cache. Old-generation entries age out by
+// size and TTL.
+//
+// Generations come from one global sequence and are themselves cached with the
+// same size and TTL bounds, so idle users do not pile up. A user whose generation
+// was dropped gets the current sequence value back, never an older one, so a
+// stale payload left under a previous generation stays unreachable.
+@Component
+public class DashboardPayloadCache {
+
+	public record Key(String userId, long generation, LocalDate from, LocalDate to) {
+	}
+
+	private final boolean enabled;
+
+	private final Cache<Key, Map<String, Object>> cache;
+
+	private final Cache<String, Long> generations;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public DashboardPayloadCache(
+			@Value("${moodyclues.dashboard-cache.enabled:true}") boolean enabled,
+			@Value("${moodyclues.dashboard-cache.max-size:10000}") long maxSize,
+			@Value("${moodyclues.dashboard-cache.ttl:10m}") Duration ttl) {
+
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		this.generations = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterAccess(ttl)
+				.build();
+	}
+
+	public Map<String, Object> get(String userId, LocalDate from, LocalDate to, Supplier<Map<String, Object>> loader) {
+		if (!enabled) {
+			return loader.get();
+		}
+		// The generation is read before loading, so a write during the load makes this
+		// entry unreachable instead of stale
+		Key key = new Key(userId, generation(userId), from, to);
+		return cache.get(key, k -> loader.get());
+	}
+
+	// Bumps now and again once the writing transaction commits, so a read that raced
+	// the write (or read a lagging replica) cannot be served afterwards
+	public void evictUser(String userId) {
+		if (!enabled || userId == null) {
+			return;
+		}
+
+		invalidate(userId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidate(userId);
+				}
+			});
+		}
+	}
+
+	private long generation(String userId) {
+		return generations.get(userId, id -> sequence.get());
+	}
+
+	// max() so two racing writers cannot leave the older value in place
+	private void invalidate(String userId) {
+		generations.asMap().merge(userId, sequence.incrementAndGet(), Math::max);
+		invalidations.incrementAndGet();
+	}
+
+	// For the Micrometer binding in MetricsConfig
+	public Cache<Key, Map<String, Object>> getCache() {
+		return cache;
+	}
+
+	public long getInvalidations() {
+		return invalidations.get();
+	}
+
+}
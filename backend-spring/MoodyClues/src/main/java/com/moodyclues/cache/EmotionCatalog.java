@@ -0,0 +1,71 @@
+package com.moodyclues.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.moodyclues.model.Emotion;
+import com.moodyclues.repository.EmotionRepository;
+
+// Emotion label -> id, so the submit path never looks emotions up one by one.
+// The emotions table only changes through migrations, so the map is loaded at
+// startup. A missing label reloads it at most once per refresh-interval, and only
+// the caller that wins the slot reloads; every other unknown label is rejected
+// straight from the map, so junk labels cannot turn into a findAll() each.
+@Component
+public class EmotionCatalog {
+
+	@Autowired
+	EmotionRepository emoRepo;
+	
+	@Value("${moodyclues.emotions.refresh-interval:60s}")
+	Duration refreshInterval;
+	
+	private volatile Map<String, String> idsByLabel = Map.of();
+	
+	// nanoTime of the last reload, 0 until the first
+	private final AtomicLong lastRefresh = new AtomicLong();
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void refresh() {
+		Map<String, String> fresh = new HashMap<>();
+		for (Emotion emo : emoRepo.findAll()) {
+			fresh.put(emo.getEmotionLabel(), emo.getId());
+		}
+		idsByLabel = Map.copyOf(fresh);
+		lastRefresh.set(System.nanoTime());
+	}
+	
+	// Throws if the label is unknown and no reload is due, or still unknown after one
+	public String idFor(String label) {
+		if (label == null) {
+			throw new IllegalArgumentException("Missing emotion");
+		}
+		String id = idsByLabel.get(label);
+		if (id == null && claimRefresh()) {
+			refresh();
+			id = idsByLabel.get(label);
+		}
+		if (id == null) {
+			throw new IllegalArgumentException("Unknown emotion " + label);
+		}
+		return id;
+	}
+	
+	private boolean claimRefresh() {
+		long last = lastRefresh.get();
+		long now = System.nanoTime();
+		if (last != 0 && now - last < refreshInterval.toNanos()) {
+			return false;
+		}
+		return lastRefresh.compareAndSet(last, now);
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.moodyclues.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+	// Shared by every counsellor dashboard request, so the pool size is also the
+	// most connections the parallel fan-out can hold at once
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService counsellorDashboardExecutor(
+			@Value("${moodyclues.counsellor-dashboard.parallelism:4}") int parallelism) {
+
+		AtomicInteger counter = new AtomicInteger();
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "counsellor-dash-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+
+		return Executors.newFixedThreadPool(Math.max(1, parallelism), factory);
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.moodyclues.config;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.moodyclues.cache.CounsellorLinkCache;
+import com.moodyclues.cache.DashboardPayloadCache;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+// HTTP, repository, Hikari and Hibernate metrics come from Boot's auto-configuration
+// (see management.* in application.properties). This adds the client tag on
+// http.server.requests and the meters for our own cache and executor.
+@Configuration
+public class MetricsConfig {
+
+	// Most routes come in two variants: web reads the user from the session (or the
+	// bearer token in token mode), Android passes the id in the path or as a request param
+	@Bean
+	public DefaultServerRequestObservationConvention clientTaggingConvention() {
+		return new DefaultServerRequestObservationConvention() {
+			@Override
+			public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+				return super.getLowCardinalityKeyValues(context)
+						.and(KeyValue.of("client", client(context.getCarrier())));
+			}
+		};
+	}
+
+	static String client(HttpServletRequest request) {
+		HttpSession session = request.getSession(false);
+		if (session != null && session.getAttribute("id") != null) {
+			return "web";
+		}
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization != null && authorization.startsWith("Bearer ")) {
+			return "web";
+		}
+
+		Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		if (vars instanceof Map<?, ?> map && (map.containsKey("userId") || map.containsKey("counsellorId"))) {
+			return "android";
+		}
+		if (request.getParameter("userId") != null || request.getParameter("counsellorId") != null) {
+			return "android";
+		}
+
+		// Login, register and anything else called without an identity
+		return "anonymous";
+	}
+
+	@Bean
+	public MeterBinder dashboardPayloadCacheMetrics(DashboardPayloadCache payloadCache) {
+		return registry -> {
+			CaffeineCacheMetrics.monitor(registry, payloadCache.getCache(), "dashboardPayload");
+			FunctionCounter.builder("moodyclues.dashboard.cache.invalidations", payloadCache,
+					DashboardPayloadCache::getInvalidations).register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder counsellorLinkCacheMetrics(CounsellorLinkCache linkCache) {
+		return registry -> CaffeineCacheMetrics.monitor(registry, linkCache.getCache(), "counsellorLinks");
+	}
+
+	@Bean
+	public MeterBinder counsellorDashboardExecutorMetrics(
+			@Qualifier("counsellorDashboardExecutor") ExecutorService executor) {
+		return new ExecutorServiceMetrics(executor, "counsellorDashboard", Tags.empty());
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.moodyclues.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.moodyclues.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Two Hikari pools instead of Boot's single one: "primary" from spring.datasource.*,
+// "replica" from moodyclues.replica.*. JPA gets the routing DataSource, so every
+// @Transactional(readOnly = true) service method reads from the replica. Flyway
+// always migrates the primary.
+@Configuration
+@ConditionalOnProperty(name = "moodyclues.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+	@Bean
+	@FlywayDataSource
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	// Credentials default to the primary's, the replica of an RDS instance shares its users
+	@Bean
+	@ConfigurationProperties("moodyclues.replica.hikari")
+	public HikariDataSource replicaDataSource(DataSourceProperties properties,
+			@Value("${moodyclues.replica.url}") String url,
+			@Value("${moodyclues.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${moodyclues.replica.password:${spring.datasource.password:}}") String password) {
+
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica) {
+		return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+	}
+
+}
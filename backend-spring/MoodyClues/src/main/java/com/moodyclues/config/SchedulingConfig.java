@@ -0,0 +1,11 @@
+package com.moodyclues.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (see the maintenance package)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
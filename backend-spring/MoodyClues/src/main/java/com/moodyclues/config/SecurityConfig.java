@@ -1,24 +1,45 @@
 package com.moodyclues.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.moodyclues.security.BoundedPasswordEncoder;
+import com.moodyclues.security.TokenAuthenticationFilter;
+import com.moodyclues.security.TokenService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 
 @Configuration
 public class SecurityConfig {
 
 	  @Bean
-	  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+	  public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService,
+	                                         @Value("${moodyclues.auth.mode:session}") String authMode) throws Exception {
+
+	    // Token mode: no server-side session, every request carries a signed token
+	    if ("token".equalsIgnoreCase(authMode)) {
+	      if (!tokenService.isConfigured()) {
+	        throw new IllegalStateException("moodyclues.auth.mode=token needs moodyclues.auth.token-secret (32+ characters)");
+	      }
+	      http
+	        .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+	        .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
+	    }
+
 	    http
 	      .cors(Customizer.withDefaults())
 	      .csrf(csrf -> csrf.disable())
@@ -53,8 +74,13 @@ public class SecurityConfig {
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(
+			@Value("${moodyclues.password.bcrypt-strength:10}") int strength,
+			@Value("${moodyclues.password.threads:2}") int threads,
+			@Value("${moodyclues.password.queue-capacity:50}") int queueCapacity,
+			@Value("${moodyclues.password.max-wait:5s}") Duration maxWait,
+			MeterRegistry registry) {
+		return new BoundedPasswordEncoder(strength, threads, queueCapacity, maxWait, registry);
 	}
 
 	@Bean
@@ -0,0 +1,27 @@
+package com.moodyclues.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.moodyclues.bulkhead.BulkheadInterceptor;
+import com.moodyclues.datasource.ReadYourWritesInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	@Autowired
+	BulkheadInterceptor bulkheadInterceptor;
+
+	@Autowired
+	ReadYourWritesInterceptor readYourWritesInterceptor;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// First, so a request turned away never does any other work
+		registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/api/**");
+		registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/api/**");
+	}
+
+}
@@ -8,15 +8,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.model.HabitsEntry;
 import com.moodyclues.model.JournalEntry;
 import com.moodyclues.model.JournalUser;
+import com.moodyclues.security.CurrentUser;
 import com.moodyclues.service.CounsellorService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/counsellor/clients")
 public class CounsellorClientController {
@@ -26,8 +27,8 @@ public class CounsellorClientController {
 
 
     @GetMapping("/all")
-    public ResponseEntity<?> listClients(HttpSession session) {
-        String counsellorId = (String) session.getAttribute("id");
+    public ResponseEntity<?> listClients() {
+        String counsellorId = CurrentUser.id();
         List<JournalUser> clients = cService.listClients(counsellorId);
         return new ResponseEntity<>(clients, HttpStatus.OK);
     }
@@ -39,9 +40,8 @@ public class CounsellorClientController {
     }
 
     @GetMapping("/{journalUserId}/journal-entries")
-    public ResponseEntity<?> listClientJournalEntries(@PathVariable String journalUserId,
-                                                      HttpSession session) {
-        String counsellorId = (String) session.getAttribute("id");
+    public ResponseEntity<?> listClientJournalEntries(@PathVariable String journalUserId) {
+        String counsellorId = CurrentUser.id();
         List<JournalEntry> entries = cService.listClientJournalEntries(counsellorId, journalUserId);
         return new ResponseEntity<>(entries, HttpStatus.OK);
     }
@@ -54,9 +54,8 @@ public class CounsellorClientController {
     }
 
     @GetMapping("/{journalUserId}/habits-entries")
-    public ResponseEntity<?> listClientHabitsEntries(@PathVariable String journalUserId,
-                                                     HttpSession session) {
-        String counsellorId = (String) session.getAttribute("id");
+    public ResponseEntity<?> listClientHabitsEntries(@PathVariable String journalUserId) {
+        String counsellorId = CurrentUser.id();
         List<HabitsEntry> entries = cService.listClientHabitsEntries(counsellorId, journalUserId);
         return new ResponseEntity<>(entries, HttpStatus.OK);
     }
@@ -68,11 +67,46 @@ public class CounsellorClientController {
         return new ResponseEntity<>(entries, HttpStatus.OK);
     }
 
+    @GetMapping("/{journalUserId}/journal-entries/page")
+    public ResponseEntity<?> listClientJournalEntriesPage(@PathVariable String journalUserId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        String counsellorId = CurrentUser.id();
+        EntryPageDto<JournalEntry> page = cService.listClientJournalEntriesPage(counsellorId, journalUserId, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{journalUserId}/journal-entries-android/{counsellorId}/page")
+    public ResponseEntity<?> listClientJournalEntriesPageAndroid(@PathVariable String journalUserId,
+                                                                 @PathVariable String counsellorId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        EntryPageDto<JournalEntry> page = cService.listClientJournalEntriesPage(counsellorId, journalUserId, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{journalUserId}/habits-entries/page")
+    public ResponseEntity<?> listClientHabitsEntriesPage(@PathVariable String journalUserId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        String counsellorId = CurrentUser.id();
+        EntryPageDto<HabitsEntry> page = cService.listClientHabitsEntriesPage(counsellorId, journalUserId, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{journalUserId}/habits-entries-android/{counsellorId}/page")
+    public ResponseEntity<?> listClientHabitsEntriesPageAndroid(@PathVariable String journalUserId,
+                                                                @PathVariable String counsellorId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        EntryPageDto<HabitsEntry> page = cService.listClientHabitsEntriesPage(counsellorId, journalUserId, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
     @GetMapping("/{journalUserId}/journal-entries/{entryId}")
     public ResponseEntity<?> getJournalEntry(@PathVariable String journalUserId,
-                                             @PathVariable String entryId,
-                                             HttpSession session) {
-        String counsellorId = (String) session.getAttribute("id");
+                                             @PathVariable String entryId) {
+        String counsellorId = CurrentUser.id();
         JournalEntry entry = cService.getJournalEntry(counsellorId, journalUserId, entryId);
         return new ResponseEntity<>(entry, HttpStatus.OK);
     }
@@ -87,9 +121,8 @@ public class CounsellorClientController {
 
     @GetMapping("/{journalUserId}/habits-entries/{entryId}")
     public ResponseEntity<?> getHabitsEntry(@PathVariable String journalUserId,
-                                            @PathVariable String entryId,
-                                            HttpSession session) {
-        String counsellorId = (String) session.getAttribute("id");
+                                            @PathVariable String entryId) {
+        String counsellorId = CurrentUser.id();
         HabitsEntry entry = cService.getHabitsEntry(counsellorId, journalUserId, entryId);
         return new ResponseEntity<>(entry, HttpStatus.OK);
     }
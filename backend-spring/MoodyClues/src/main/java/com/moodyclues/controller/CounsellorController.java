@@ -1,15 +1,10 @@
 package com.moodyclues.controller;
 
-import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -19,12 +14,16 @@ import org.springframework.web.bind.annotation.RestController;
 import com.moodyclues.dto.LoginRequestDto;
 import com.moodyclues.dto.LoginResponseDto;
 import com.moodyclues.dto.RegisterRequestDto;
-import com.moodyclues.model.CounsellorUser;
 import com.moodyclues.model.LinkRequest;
+import com.moodyclues.security.AuthenticatedUser;
+import com.moodyclues.security.AuthenticatedUser.Role;
+import com.moodyclues.security.LoginSupport;
+import com.moodyclues.service.AuthenticationService;
 import com.moodyclues.service.CounsellorService;
 import com.moodyclues.service.JournalUserService;
 import com.moodyclues.service.LinkRequestService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 @RestController
@@ -37,28 +36,28 @@ public class CounsellorController {
 	@Autowired
 	CounsellorService cService;
 	
+	@Autowired
+	AuthenticationService authService;
+	
+	@Autowired
+	LoginSupport loginSupport;
+	
 	@Autowired
 	LinkRequestService linkService;
 	
 	@PostMapping("/login")
-	public ResponseEntity<?> login(@RequestBody LoginRequestDto request, HttpSession session) {
+	public ResponseEntity<?> login(@RequestBody LoginRequestDto request, HttpServletRequest httpRequest) {
 		
-		if (cService.loginAttempt(request)) {
-			String userEmail = request.getEmail();
-			CounsellorUser user = cService.findCounsellorByEmail(userEmail);
-			
-		    var authorities = List.of(new SimpleGrantedAuthority("ROLE_COUNSELLOR"));
-		    var auth = new UsernamePasswordAuthenticationToken(user.getId().toString(), null, authorities);
-			
-		    SecurityContext context = SecurityContextHolder.createEmptyContext();
-		    context.setAuthentication(auth);
-		    SecurityContextHolder.setContext(context);
-		    session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		Optional<AuthenticatedUser> authenticated =
+				authService.authenticate(request.getEmail(), request.getPassword(), Role.COUNSELLOR);
+		
+		if (authenticated.isPresent()) {
+			AuthenticatedUser user = authenticated.get();
 			
 			LoginResponseDto response = new LoginResponseDto();
-			response.setUserId(user.getId());
-			
-			session.setAttribute("id", user.getId());
+			response.setUserId(user.id());
+			response.setToken(loginSupport.signIn(user, httpRequest));
+
 			return new ResponseEntity<LoginResponseDto>(response, HttpStatus.OK);
 
 		}
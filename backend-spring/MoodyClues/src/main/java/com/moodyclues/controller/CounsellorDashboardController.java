@@ -12,10 +12,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.moodyclues.security.CurrentUser;
 import com.moodyclues.service.CounsellorDashboardService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/counsellor/dashboard")
 public class CounsellorDashboardController {
@@ -25,7 +24,6 @@ public class CounsellorDashboardController {
 
 	@GetMapping("/window")
 	public ResponseEntity<?> getDashboardWindow(
-			HttpSession session,
 			@RequestParam(required = false) String counsellorId,
 			@RequestParam(required = false) Integer days,
 			@RequestParam(required = false)
@@ -35,7 +33,7 @@ public class CounsellorDashboardController {
 			) {
 		
 		
-		String effectiveCounsellorId = (String) session.getAttribute("id");
+		String effectiveCounsellorId = CurrentUser.id();
 		if (effectiveCounsellorId == null) effectiveCounsellorId = counsellorId;
 		if (effectiveCounsellorId == null || effectiveCounsellorId.isBlank()) {
 			return new ResponseEntity<>("No counsellor Id provided.", HttpStatus.UNAUTHORIZED);
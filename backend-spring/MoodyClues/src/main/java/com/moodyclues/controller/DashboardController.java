@@ -18,10 +18,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.moodyclues.projection.HabitsDayFlat;
 import com.moodyclues.projection.JournalDailyAgg;
+import com.moodyclues.security.CurrentUser;
 import com.moodyclues.service.DashboardService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
@@ -31,7 +30,6 @@ public class DashboardController {
 	
 	@GetMapping("/window")
 	public ResponseEntity<?> getDashboardWindow(
-	        HttpSession session,
 	        @RequestParam(required = false) String userId,
 	        @RequestParam(required = false) Integer days,
 	        @RequestParam(required = false)
@@ -39,7 +37,7 @@ public class DashboardController {
 	        @RequestParam(required = false)
 	        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
 	) {
-	    String effectiveUserId = (String) session.getAttribute("id");
+	    String effectiveUserId = CurrentUser.id();
 	    if (effectiveUserId == null) effectiveUserId = userId;
 	    if (effectiveUserId == null || effectiveUserId.isBlank()) {
 	        return new ResponseEntity<>("No userId provided", HttpStatus.UNAUTHORIZED);
@@ -7,13 +7,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.dto.HabitsEntryRequestDto;
 import com.moodyclues.dto.HabitsEntryUpdateRequestDto;
 import com.moodyclues.model.HabitsEntry;
+import com.moodyclues.security.CurrentUser;
 import com.moodyclues.service.EntryService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/habits")
 public class HabitsController {
@@ -32,8 +32,8 @@ public class HabitsController {
     }
     
     @GetMapping("/all")
-    public ResponseEntity<?> getAllHabitsEntries(HttpSession session) {
-        String userId = (String) session.getAttribute("id");
+    public ResponseEntity<?> getAllHabitsEntries() {
+        String userId = CurrentUser.id();
     	
     	try {
             List<HabitsEntry> hentries = entryService.getAllHabitsEntriesByUserId(userId);
@@ -53,9 +53,30 @@ public class HabitsController {
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
     
+    // Paged listing, newest first. Pass back nextCursor to get the following page.
+    @GetMapping("/page")
+    public ResponseEntity<?> getHabitsEntriesPage(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        String userId = CurrentUser.id();
+        if (userId == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        EntryPageDto<HabitsEntry> page = entryService.getHabitsEntriesPage(userId, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/page/{userId}")
+    public ResponseEntity<?> getHabitsEntriesPage(@PathVariable String userId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        EntryPageDto<HabitsEntry> page = entryService.getHabitsEntriesPage(userId, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+    
     @GetMapping("/{entryId}")
-    public ResponseEntity<?> getHabitsEntryById(@PathVariable String entryId, HttpSession session) {
-        String userId = (String) session.getAttribute("id");
+    public ResponseEntity<?> getHabitsEntryById(@PathVariable String entryId) {
+        String userId = CurrentUser.id();
 
     	
     	try {
@@ -85,17 +106,14 @@ public class HabitsController {
 
     @PutMapping("/{entryId}/edit")
     public ResponseEntity<?> editHabitsEntry(@PathVariable String entryId,
-                                             HttpSession session,
                                              @RequestBody HabitsEntryUpdateRequestDto request) {
         
-    	String userId = (String) session.getAttribute("id");
+    	String userId = CurrentUser.id();
     	
         try {
-            HabitsEntry existing = entryService.getHabitsEntryById(entryId);
-            if (existing == null || existing.getUser() == null || !userId.equals(existing.getUser().getId())) {
+            if (!entryService.updateHabitsEntry(userId, entryId, request)) {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
-            entryService.updateHabitsEntry(request, entryId);
             return new ResponseEntity<>("Entry successfully edited.", HttpStatus.OK);
         } catch (Exception e) {
         }
@@ -107,11 +125,9 @@ public class HabitsController {
                                              @PathVariable String userId,
                                              @RequestBody HabitsEntryUpdateRequestDto request) {
         try {
-            HabitsEntry existing = entryService.getHabitsEntryById(entryId);
-            if (existing == null || existing.getUser() == null || !userId.equals(existing.getUser().getId())) {
+            if (!entryService.updateHabitsEntry(userId, entryId, request)) {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
-            entryService.updateHabitsEntry(request, entryId);
             return new ResponseEntity<>("Entry successfully edited.", HttpStatus.OK);
         } catch (Exception e) {
         }
@@ -119,17 +135,14 @@ public class HabitsController {
     }
     
     @PutMapping("/{entryId}/archive")
-    public ResponseEntity<?> archiveHabitsEntry(@PathVariable String entryId,
-                                                HttpSession session) {
+    public ResponseEntity<?> archiveHabitsEntry(@PathVariable String entryId) {
     	
-    	String userId = (String) session.getAttribute("id");
+    	String userId = CurrentUser.id();
     	
         try {
-            HabitsEntry existing = entryService.getHabitsEntryById(entryId);
-            if (existing == null || existing.getUser() == null || !userId.equals(existing.getUser().getId())) {
+            if (!entryService.archiveHabitsEntry(userId, entryId)) {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
-            entryService.archiveHabitsEntry(entryId);
             return new ResponseEntity<>("Entry successfully deleted.", HttpStatus.OK);
         } catch (Exception e) {
         }
@@ -140,11 +153,9 @@ public class HabitsController {
     public ResponseEntity<?> archiveHabitsEntry(@PathVariable String entryId,
                                                 @PathVariable String userId) {
         try {
-            HabitsEntry existing = entryService.getHabitsEntryById(entryId);
-            if (existing == null || existing.getUser() == null || !userId.equals(existing.getUser().getId())) {
+            if (!entryService.archiveHabitsEntry(userId, entryId)) {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
-            entryService.archiveHabitsEntry(entryId);
             return new ResponseEntity<>("Entry successfully deleted.", HttpStatus.OK);
         } catch (Exception e) {
         }
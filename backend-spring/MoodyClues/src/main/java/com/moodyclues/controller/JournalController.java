@@ -3,7 +3,9 @@ package com.moodyclues.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,12 +15,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.dto.JournalEntryRequestDto;
+import com.moodyclues.dto.JournalSearchResultDto;
 import com.moodyclues.model.JournalEntry;
+import com.moodyclues.security.CurrentUser;
 import com.moodyclues.service.EntryService;
-
-import jakarta.servlet.http.HttpSession;
+import com.moodyclues.service.ExportService;
+import com.moodyclues.service.ExportService.Format;
 
 @RestController
 @RequestMapping("/api/journal")
@@ -27,6 +33,9 @@ public class JournalController {
 	@Autowired
 	EntryService entryService;
 	
+	@Autowired
+	ExportService exportService;
+	
 	@PostMapping("/submit")
 	public ResponseEntity<?> submitJournalEntry(@RequestBody JournalEntryRequestDto request) {
 		
@@ -42,8 +51,8 @@ public class JournalController {
 	}
 	
 	@GetMapping("/all")
-	public ResponseEntity<?> getAllJournalEntries(HttpSession session) {
-		String userId = (String) session.getAttribute("id");
+	public ResponseEntity<?> getAllJournalEntries() {
+		String userId = CurrentUser.id();
 		
 		try {
 			List<JournalEntry> jentries = entryService.getAllJournalEntriesByUserId(userId);
@@ -68,25 +77,75 @@ public class JournalController {
 		return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 	}
 	
+	// Paged listing, newest first. Pass back nextCursor to get the following page.
+	@GetMapping("/page")
+	public ResponseEntity<?> getJournalEntriesPage(@RequestParam(required = false) String cursor,
+	                                               @RequestParam(required = false) Integer size) {
+		String userId = CurrentUser.id();
+		if (userId == null) {
+			return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+		}
+		
+		EntryPageDto<JournalEntry> page = entryService.getJournalEntriesPage(userId, cursor, size);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+	
+	@GetMapping("/page/{userId}")
+	public ResponseEntity<?> getJournalEntriesPage(@PathVariable String userId,
+	                                               @RequestParam(required = false) String cursor,
+	                                               @RequestParam(required = false) Integer size) {
+		
+		EntryPageDto<JournalEntry> page = entryService.getJournalEntriesPage(userId, cursor, size);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+	
 	// Search function, only for web
 	@GetMapping("/entries")
-	public ResponseEntity<List<JournalEntry>> listEntriesSearch(@RequestParam String query, HttpSession session) {
+	public ResponseEntity<JournalSearchResultDto> listEntriesSearch(@RequestParam String query,
+	                                                                @RequestParam(required = false) Integer page,
+	                                                                @RequestParam(required = false) Integer size) {
 
-	    String userId = (String) session.getAttribute("id");
+	    String userId = CurrentUser.id();
 	    if (userId == null) {
 	    	return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
 	    }
 
-	    List<JournalEntry> entries = entryService.searchJournalEntriesByTitle(userId, query);
+	    JournalSearchResultDto result = entryService.searchJournalEntries(userId, query, page, size);
 	    
 
-	    return new ResponseEntity<>(entries, HttpStatus.OK);
+	    return new ResponseEntity<>(result, HttpStatus.OK);
+	}
+	
+	
+	// Full history download, format=ndjson (default) or csv
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportEntries(@RequestParam(required = false) String format) {
+		String userId = CurrentUser.id();
+		if (userId == null) {
+			return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+		}
+		
+		Format f;
+		if (format == null || format.isBlank() || format.equalsIgnoreCase("ndjson")) {
+			f = Format.NDJSON;
+		} else if (format.equalsIgnoreCase("csv")) {
+			f = Format.CSV;
+		} else {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		
+		StreamingResponseBody body = out -> exportService.exportEntries(userId, f, out);
+		
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(f.contentType + ";charset=UTF-8"))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"moodyclues-export." + f.extension + "\"")
+				.body(body);
 	}
 	
 	
 	@GetMapping("/{entryId}")
-	public ResponseEntity<?> getJournalEntryById(@PathVariable String entryId, HttpSession session) {
-		String userId = (String) session.getAttribute("id");
+	public ResponseEntity<?> getJournalEntryById(@PathVariable String entryId) {
+		String userId = CurrentUser.id();
 		
 		try {
 	        var jentry = entryService.getJournalEntryById(entryId);
@@ -114,15 +173,13 @@ public class JournalController {
 	}
 	
 	@PutMapping("/{entryId}/archive")
-	public ResponseEntity<?> archiveJournalEntry(@PathVariable String entryId, HttpSession session) {
-		String userId = (String) session.getAttribute("id");
+	public ResponseEntity<?> archiveJournalEntry(@PathVariable String entryId) {
+		String userId = CurrentUser.id();
 		
 		try {
-	        JournalEntry j = entryService.getJournalEntryById(entryId);
-	        if (j == null || j.getUser() == null || !userId.equals(j.getUser().getId())) {
+	        if (!entryService.archiveJournalEntry(userId, entryId)) {
 	            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
 	        }
-	        entryService.archiveJournalEntry(entryId);
 	        return new ResponseEntity<>("Entry successfully deleted.", HttpStatus.OK);
 	    } catch (Exception e) {
 	        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -133,11 +190,9 @@ public class JournalController {
 	public ResponseEntity<?> archiveJournalEntry(@PathVariable String entryId,
 	                                             @PathVariable String userId) {
 	    try {
-	        JournalEntry j = entryService.getJournalEntryById(entryId);
-	        if (j == null || j.getUser() == null || !userId.equals(j.getUser().getId())) {
+	        if (!entryService.archiveJournalEntry(userId, entryId)) {
 	            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
 	        }
-	        entryService.archiveJournalEntry(entryId);
 	        return new ResponseEntity<>("Entry successfully deleted.", HttpStatus.OK);
 	    } catch (Exception e) {
 	        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
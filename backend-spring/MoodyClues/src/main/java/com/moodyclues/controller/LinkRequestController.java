@@ -15,11 +15,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.moodyclues.dto.CounsellorLinkRequestDto;
 import com.moodyclues.dto.JournalLinkRequestDto;
 import com.moodyclues.model.LinkRequest;
+import com.moodyclues.security.CurrentUser;
 import com.moodyclues.service.CounsellorService;
 import com.moodyclues.service.LinkRequestService;
 
-import jakarta.servlet.http.HttpSession;
-
 @RestController
 @RequestMapping("/api/linkrequest")
 public class LinkRequestController {
@@ -32,8 +31,8 @@ public class LinkRequestController {
 	
 	// This is for CounsellorUsers to create requests.
     @PostMapping
-    public ResponseEntity<?> createLinkRequest(@RequestBody CounsellorLinkRequestDto request, HttpSession session) {
-        String counsellorId = (String) session.getAttribute("id");
+    public ResponseEntity<?> createLinkRequest(@RequestBody CounsellorLinkRequestDto request) {
+        String counsellorId = CurrentUser.id();
         LinkRequest linkRequest = linkService.createNewRequest(counsellorId, request.getClientEmail());
         return new ResponseEntity<LinkRequest>(linkRequest, HttpStatus.OK);
     }
@@ -46,9 +45,9 @@ public class LinkRequestController {
 
     // This is for CounsellorUsers to see all requests.
 	@GetMapping("/counsellor/all-link-requests")
-	public ResponseEntity<?> allLinkRequests(HttpSession session) {
+	public ResponseEntity<?> allLinkRequests() {
 		
-		String id = (String) session.getAttribute("id");
+		String id = CurrentUser.id();
 		
 		List<LinkRequest> linkRequests = linkService.getAllLinkRequestsByCounsellorId(id);
 		
@@ -79,8 +78,8 @@ public class LinkRequestController {
 	
     // This is for JournalUsers to see all requests.
     @GetMapping("/journal/all-link-requests")
-    public ResponseEntity<?> allForJournal(HttpSession session) {
-        String journalUserId = (String) session.getAttribute("id");
+    public ResponseEntity<?> allForJournal() {
+        String journalUserId = CurrentUser.id();
         
         List<LinkRequest> linkRequests = linkService.getAllLinkRequestsByJournalUserId(journalUserId);
         
@@ -98,9 +97,8 @@ public class LinkRequestController {
     // This is for JournalUsers to approve or reject link request.
     @PostMapping("/{requestId}/decision")
     public ResponseEntity<?> decide(@PathVariable String requestId,
-                                       @RequestBody JournalLinkRequestDto decision,
-                                       HttpSession session) {
-        String journalUserId = (String) session.getAttribute("id");
+                                       @RequestBody JournalLinkRequestDto decision) {
+        String journalUserId = CurrentUser.id();
         linkService.requestDecision(journalUserId, requestId, decision.isApproved());
         return new ResponseEntity<>(HttpStatus.OK);
     }
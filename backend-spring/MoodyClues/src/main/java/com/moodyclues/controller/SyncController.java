@@ -0,0 +1,32 @@
+package com.moodyclues.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.moodyclues.dto.SyncRequestDto;
+import com.moodyclues.dto.SyncResultDto;
+import com.moodyclues.service.SyncService;
+
+// Offline sync for the Android client: journal and habits entries in one request
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+	@Autowired
+	SyncService syncService;
+	
+	@PostMapping("/entries")
+	public ResponseEntity<?> syncEntries(@RequestBody SyncRequestDto request) {
+		
+		List<SyncResultDto> results = syncService.syncEntries(request);
+		return new ResponseEntity<>(results, HttpStatus.OK);
+	}
+	
+}
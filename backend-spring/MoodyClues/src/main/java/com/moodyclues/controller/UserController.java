@@ -1,15 +1,10 @@
 package com.moodyclues.controller;
 
-import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,10 +16,15 @@ import org.springframework.web.bind.annotation.RestController;
 import com.moodyclues.dto.LoginRequestDto;
 import com.moodyclues.dto.LoginResponseDto;
 import com.moodyclues.dto.RegisterRequestDto;
-import com.moodyclues.model.JournalUser;
+import com.moodyclues.security.AuthenticatedUser;
+import com.moodyclues.security.AuthenticatedUser.Role;
+import com.moodyclues.security.CurrentUser;
+import com.moodyclues.security.LoginSupport;
+import com.moodyclues.service.AuthenticationService;
 import com.moodyclues.service.JournalUserService;
 import com.moodyclues.service.LinkRequestService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 @RestController
@@ -34,31 +34,28 @@ public class UserController {
 	@Autowired
 	JournalUserService juserService;
 	
+	@Autowired
+	AuthenticationService authService;
+	
+	@Autowired
+	LoginSupport loginSupport;
+	
 	@Autowired
 	LinkRequestService linkService;
 	
 	@PostMapping("/login")
-	public ResponseEntity<?> login(@RequestBody LoginRequestDto request, HttpSession session) {
+	public ResponseEntity<?> login(@RequestBody LoginRequestDto request, HttpServletRequest httpRequest) {
 		
-		if (juserService.loginAttempt(request)) {
-			String userEmail = request.getEmail();
-			JournalUser user = juserService.findJournalUserByEmail(userEmail);
-			
-		    var authorities = List.of(new SimpleGrantedAuthority("ROLE_JOURNAL"));
-		    var auth = new UsernamePasswordAuthenticationToken(user.getId().toString(), null, authorities);
+		Optional<AuthenticatedUser> authenticated =
+				authService.authenticate(request.getEmail(), request.getPassword(), Role.JOURNAL);
+		
+		if (authenticated.isPresent()) {
+			AuthenticatedUser user = authenticated.get();
 			
-		    SecurityContext context = SecurityContextHolder.createEmptyContext();
-		    context.setAuthentication(auth);
-		    SecurityContextHolder.setContext(context);
-		    session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
-		    
 			LoginResponseDto response = new LoginResponseDto();
-			response.setUserId(user.getId());
-			response.setShowEmotion(user.isShowEmotion());
-			
-			
-			session.setAttribute("id", user.getId());
-			session.setAttribute("showEmotion", user.isShowEmotion());
+			response.setUserId(user.id());
+			response.setShowEmotion(user.showEmotion());
+			response.setToken(loginSupport.signIn(user, httpRequest));
 
 			return new ResponseEntity<LoginResponseDto>(response, HttpStatus.OK);
 
@@ -89,24 +86,15 @@ public class UserController {
 	}
 	
 	@PutMapping("/toggle-emotion")
-	public ResponseEntity<?> toggleEmotion(HttpSession session) {
-		String userId = session.getId();
-		JournalUser user = juserService.findJournalUserById(userId);
-		
-		if (user.isShowEmotion()) {
-			user.setShowEmotion(false);
-			return new ResponseEntity<>("Emotions set to hidden", HttpStatus.OK);
-
+	public ResponseEntity<?> toggleEmotion() {
+		String userId = CurrentUser.id();
+		if (userId == null) {
+			return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
 		}
 		
-		if (!(user.isShowEmotion())) {
-			user.setShowEmotion(true);
-			return new ResponseEntity<>("Emotions set to shown", HttpStatus.OK);
-
-		}
-		
-		return new ResponseEntity<>("Something went wrong", HttpStatus.BAD_REQUEST);
+		String outcome = juserService.toggleEmotion(userId);
 		
+		return new ResponseEntity<>(outcome, HttpStatus.OK);
 	}
 	
 	@PutMapping("/toggle-emotion/{userId}")
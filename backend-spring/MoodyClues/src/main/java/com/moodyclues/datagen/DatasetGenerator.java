@@ -0,0 +1,363 @@
+package com.moodyclues.datagen;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.moodyclues.model.UuidV7Generator;
+
+// Fills the database with N journal users, M counsellors, their links and `days` of
+// entries, following the patterns of V5/V6: three personas (V6's Alice, Bob and
+// Carol), 3 journal entries a day at 08:00/13:00/20:00, habits at 22:00, weekend
+// shifts, mood-aligned emotions. Rollups (V8/V9) are written alongside, so the
+// dashboards work on the result without a backfill.
+//
+// Rows go in with JDBC batches (multi-row INSERTs through rewriteBatchedStatements),
+// one transaction per chunk of users, chunks spread over a few threads.
+// Every run gets its own email tag, so it can be re-run against the same database.
+@Component
+@Profile("datagen")
+public class DatasetGenerator implements CommandLineRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+	// Same hash as the V2 seed users ("password")
+	private static final String PASSWORD_HASH = "$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi";
+
+	private static final ZoneId ZONE = ZoneId.of("Asia/Singapore");
+
+	private static final String[] FIRST_NAMES = {
+			"Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie", "Avery", "Quinn",
+			"Wei", "Priya", "Ahmad", "Mei", "Ravi", "Siti", "Daniel", "Chloe", "Marcus", "Hana" };
+
+	private static final String[] LAST_NAMES = {
+			"Tan", "Lim", "Lee", "Ng", "Wong", "Kumar", "Rahman", "Chen", "Smith", "Brown",
+			"Garcia", "Nguyen", "Ong", "Koh", "Singh", "Davis", "Miller", "Teo", "Goh", "Ho" };
+
+	private static final String[] SLOT_TITLES = { "Morning reflection", "Midday check-in", "Evening recap" };
+
+	// Indexed by mood 1..5
+	private static final String[][] MOOD_LINES = {
+			{},
+			{ "Everything felt heavy today and I could not focus.", "Argued at work and could not let it go.",
+					"Barely slept, dreading tomorrow." },
+			{ "Tired and a bit anxious about deadlines.", "Felt lonely after dinner.",
+					"Work stress again, skipped lunch." },
+			{ "An ordinary day, nothing stood out.", "Mixed feelings, some good moments.",
+					"Busy but manageable." },
+			{ "Good walk after work, felt lighter.", "Productive morning and a nice lunch with friends.",
+					"Calm evening, read a book." },
+			{ "Great day, finished the project and celebrated.", "Felt grateful and full of energy.",
+					"Weekend trip with family, really happy." } };
+
+	// Same mood -> emotion mapping as the V6 entry_emotions insert
+	private static final String[][] MOOD_EMOTIONS = {
+			{},
+			{ "angry", "sad", "anxious" },
+			{ "sad", "anxious", "confused" },
+			{ "neutral", "confused" },
+			{ "happy", "curious" },
+			{ "happy", "surprised", "curious" } };
+
+	enum Persona {
+		// cumulative % for moods 5,4,3,2 (rest is 1), weekday then weekend, as in V6
+		POSITIVE(new int[] { 40, 75, 95, 99 }, new int[] { 55, 85, 97, 99 }, 7.0, 2.2, 7.0, 1.5, 1.0),
+		BALANCED(new int[] { 20, 50, 80, 95 }, new int[] { 25, 55, 80, 95 }, 6.0, 1.8, 7.0, 2.5, 2.0),
+		// V6 lists Carol low-first, flipped here to the same 5..2 order
+		STRUGGLING(new int[] { 2, 7, 25, 60 }, new int[] { 3, 10, 35, 70 }, 5.0, 1.2, 9.0, 2.0, 4.0);
+
+		final int[] weekday;
+		final int[] weekend;
+		final double sleepBase;
+		final double waterBase;
+		final double workBase;
+		final double workSpread;
+		final double weekendWorkBase;
+
+		Persona(int[] weekday, int[] weekend, double sleepBase, double waterBase, double workBase,
+				double workSpread, double weekendWorkBase) {
+			this.weekday = weekday;
+			this.weekend = weekend;
+			this.sleepBase = sleepBase;
+			this.waterBase = waterBase;
+			this.workBase = workBase;
+			this.workSpread = workSpread;
+			this.weekendWorkBase = weekendWorkBase;
+		}
+
+		int mood(SplittableRandom rnd, boolean isWeekend) {
+			int[] cut = isWeekend ? weekend : weekday;
+			int roll = rnd.nextInt(100);
+			for (int i = 0; i < cut.length; i++) {
+				if (roll < cut[i]) {
+					return 5 - i;
+				}
+			}
+			return 1;
+		}
+	}
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	@Autowired
+	PlatformTransactionManager txManager;
+
+	@Autowired
+	ConfigurableApplicationContext context;
+
+	@Value("${moodyclues.datagen.users:1000}")
+	int users;
+
+	@Value("${moodyclues.datagen.counsellors:50}")
+	int counsellors;
+
+	@Value("${moodyclues.datagen.days:365}")
+	int days;
+
+	@Value("${moodyclues.datagen.entries-per-day:3}")
+	int entriesPerDay;
+
+	@Value("${moodyclues.datagen.threads:4}")
+	int threads;
+
+	@Value("${moodyclues.datagen.batch-size:5000}")
+	int batchSize;
+
+	@Value("${moodyclues.datagen.seed:42}")
+	long seed;
+
+	@Value("${moodyclues.datagen.exit-when-done:true}")
+	boolean exitWhenDone;
+
+	@Override
+	public void run(String... args) throws Exception {
+
+		long started = System.nanoTime();
+		String tag = Long.toString(System.currentTimeMillis(), 36);
+		LocalDate today = LocalDate.now(ZONE);
+
+		Map<String, String> emotionIds = new HashMap<>();
+		jdbc.query("SELECT id, emotion_label FROM emotions",
+				rs -> { emotionIds.put(rs.getString("emotion_label"), rs.getString("id")); });
+
+		List<String> counsellorIds = insertCounsellors(tag);
+
+		// Keep roughly 10 batches of journal rows in memory per chunk
+		int usersPerChunk = Math.max(1, batchSize * 10 / Math.max(1, days * entriesPerDay));
+		AtomicLong rows = new AtomicLong();
+
+		log.info("datagen {}: {} users x {} days, {} counsellors, {} threads", tag, users, days, counsellors, threads);
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> chunks = new ArrayList<>();
+			for (int start = 0; start < users; start += usersPerChunk) {
+				int from = start;
+				int to = Math.min(users, start + usersPerChunk);
+				chunks.add(pool.submit(() -> {
+					long n = generateUsers(tag, from, to, today, counsellorIds, emotionIds);
+					long total = rows.addAndGet(n);
+					log.info("datagen {}: users {}-{} done, {} rows so far", tag, from, to - 1, total);
+				}));
+			}
+			for (Future<?> chunk : chunks) {
+				chunk.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		double seconds = (System.nanoTime() - started) / 1e9;
+		log.info("datagen {}: {} rows in {} s ({} rows/s)", tag, rows.get(),
+				Math.round(seconds), Math.round(rows.get() / Math.max(seconds, 0.001)));
+
+		if (exitWhenDone) {
+			System.exit(SpringApplication.exit(context));
+		}
+	}
+
+	private List<String> insertCounsellors(String tag) {
+		SplittableRandom rnd = new SplittableRandom(seed);
+		List<String> ids = new ArrayList<>();
+		List<Object[]> rows = new ArrayList<>();
+		for (int j = 0; j < counsellors; j++) {
+			String id = UUID.randomUUID().toString();
+			ids.add(id);
+			rows.add(new Object[] { id, false, "gen-" + tag + "-c" + j + "@datagen.moodyclues.local",
+					FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)], LAST_NAMES[rnd.nextInt(LAST_NAMES.length)],
+					PASSWORD_HASH });
+		}
+		insert("INSERT INTO counsellor_user (id, archived, email, first_name, last_name, password) VALUES (?, ?, ?, ?, ?, ?)",
+				rows);
+		return ids;
+	}
+
+	// Users [from, to) with everything hanging off them, in one transaction
+	private long generateUsers(String tag, int from, int to, LocalDate today, List<String> counsellorIds,
+			Map<String, String> emotionIds) {
+
+		List<Object[]> userRows = new ArrayList<>();
+		List<Object[]> linkRows = new ArrayList<>();
+		List<Object[]> clientRows = new ArrayList<>();
+		List<Object[]> journalRows = new ArrayList<>();
+		List<Object[]> entryEmotionRows = new ArrayList<>();
+		List<Object[]> habitsRows = new ArrayList<>();
+		List<Object[]> statsRows = new ArrayList<>();
+		List<Object[]> emotionCountRows = new ArrayList<>();
+
+		for (int i = from; i < to; i++) {
+			SplittableRandom rnd = new SplittableRandom(seed * 1_000_003L + i);
+			String userId = UUID.randomUUID().toString();
+
+			int roll = rnd.nextInt(100);
+			Persona persona = roll < 35 ? Persona.POSITIVE : roll < 80 ? Persona.BALANCED : Persona.STRUGGLING;
+
+			userRows.add(new Object[] { userId, false, "gen-" + tag + "-u" + i + "@datagen.moodyclues.local",
+					FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)], LAST_NAMES[rnd.nextInt(LAST_NAMES.length)],
+					PASSWORD_HASH, rnd.nextInt(10) < 8 });
+
+			// Link graph: most users have one counsellor, a few pending or declined.
+			// Squaring the draw gives some counsellors much bigger caseloads than others.
+			if (!counsellorIds.isEmpty()) {
+				int linkRoll = rnd.nextInt(100);
+				int status = linkRoll < 70 ? 1 : linkRoll < 80 ? 0 : linkRoll < 85 ? 2 : -1;
+				if (status >= 0) {
+					double skew = rnd.nextDouble();
+					String counsellorId = counsellorIds.get((int) (counsellorIds.size() * skew * skew));
+					LocalDateTime requestedAt = today.minusDays(rnd.nextInt(Math.max(1, days))).atTime(10, 0);
+					linkRows.add(new Object[] { UuidV7Generator.forMillis(millis(requestedAt)).toString(),
+							Timestamp.valueOf(requestedAt), status, counsellorId, userId });
+					if (status == 1) {
+						clientRows.add(new Object[] { counsellorId, userId });
+					}
+				}
+			}
+
+			// Not everyone has been around for the whole window
+			int firstDay = rnd.nextInt(100) < 60 ? days - 1 : rnd.nextInt(Math.max(1, days));
+
+			for (int n = firstDay; n >= 0; n--) {
+				// Some days are skipped entirely
+				if (rnd.nextInt(100) < 8) {
+					continue;
+				}
+				LocalDate day = today.minusDays(n);
+				boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+
+				double moodSum = 0;
+				int moodCount = 0;
+				Map<String, Integer> dayEmotions = new LinkedHashMap<>();
+
+				for (int e = 0; e < entriesPerDay; e++) {
+					int hour = entriesPerDay <= 3 ? new int[] { 8, 13, 20 }[e] : 8 + (12 * e) / entriesPerDay;
+					LocalDateTime createdAt = day.atTime(hour, rnd.nextInt(60));
+					int mood = persona.mood(rnd, weekend);
+					String entryId = UuidV7Generator.forMillis(millis(createdAt)).toString();
+
+					String[] lines = MOOD_LINES[mood];
+					journalRows.add(new Object[] { entryId, false, Timestamp.valueOf(createdAt),
+							Timestamp.valueOf(createdAt.plusMinutes(15)),
+							lines[rnd.nextInt(lines.length)],
+							SLOT_TITLES[Math.min(e, SLOT_TITLES.length - 1)] + ", " + day,
+							mood, userId });
+
+					// One emotion, sometimes two (the app allows up to two)
+					String[] labels = MOOD_EMOTIONS[mood];
+					int first = rnd.nextInt(labels.length);
+					List<String> picked = new ArrayList<>(List.of(labels[first]));
+					if (labels.length > 1 && rnd.nextInt(100) < 30) {
+						picked.add(labels[(first + 1 + rnd.nextInt(labels.length - 1)) % labels.length]);
+					}
+					for (String label : picked) {
+						String emotionId = emotionIds.get(label);
+						if (emotionId != null) {
+							entryEmotionRows.add(new Object[] { entryId, emotionId });
+							dayEmotions.merge(emotionId, 1, Integer::sum);
+						}
+					}
+
+					moodSum += mood;
+					moodCount++;
+				}
+
+				// Habits once a day at 22:00, ranges as in V6
+				LocalDateTime habitsAt = day.atTime(22, 0);
+				double sleep = round1(persona.sleepBase + (weekend ? 0.5 : 0) + rnd.nextInt(16) / 10.0);
+				double water = round1(persona.waterBase + (weekend ? 0.2 : 0) + rnd.nextInt(11) / 10.0);
+				double work = round1(weekend
+						? persona.weekendWorkBase + rnd.nextInt(21) / 10.0
+						: persona.workBase + rnd.nextInt((int) (persona.workSpread * 10) + 1) / 10.0);
+				habitsRows.add(new Object[] { UuidV7Generator.forMillis(millis(habitsAt)).toString(), false,
+						Timestamp.valueOf(habitsAt), Timestamp.valueOf(habitsAt.plusMinutes(10)),
+						sleep, water, work, userId });
+
+				statsRows.add(new Object[] { userId, day, moodSum, moodCount, 1, sleep, water, work });
+				for (Map.Entry<String, Integer> emo : dayEmotions.entrySet()) {
+					emotionCountRows.add(new Object[] { userId, day, emo.getKey(), emo.getValue() });
+				}
+			}
+		}
+
+		new TransactionTemplate(txManager).executeWithoutResult(status -> {
+			insert("INSERT INTO journal_users (id, archived, email, first_name, last_name, password, show_emotion) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, ?)", userRows);
+			insert("INSERT INTO link_request (id, requested_at, status, counsellor_user_id, journal_user_id) "
+					+ "VALUES (?, ?, ?, ?, ?)", linkRows);
+			insert("INSERT INTO counsellor_client (counsellor_id, client_id) VALUES (?, ?)", clientRows);
+			insert("INSERT INTO journal_entries (id, archived, created_at, last_saved_at, entry_text, entry_title, mood, user_id) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", journalRows);
+			insert("INSERT INTO entry_emotions (entry_id, emotion_id) VALUES (?, ?)", entryEmotionRows);
+			insert("INSERT INTO habits_entries (id, archived, created_at, last_saved_at, sleep, water, work_hours, user_id) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", habitsRows);
+			insert("INSERT INTO user_daily_stats (user_id, day, mood_sum, mood_count, habits_count, sleep_sum, water_sum, work_hours_sum) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", statsRows);
+			insert("INSERT INTO emotion_daily_counts (user_id, day, emotion_id, cnt) VALUES (?, ?, ?, ?)",
+					emotionCountRows);
+		});
+
+		return (long) userRows.size() + linkRows.size() + clientRows.size() + journalRows.size()
+				+ entryEmotionRows.size() + habitsRows.size() + statsRows.size() + emotionCountRows.size();
+	}
+
+	private void insert(String sql, List<Object[]> rows) {
+		for (int i = 0; i < rows.size(); i += batchSize) {
+			jdbc.batchUpdate(sql, rows.subList(i, Math.min(rows.size(), i + batchSize)));
+		}
+	}
+
+	private static long millis(LocalDateTime time) {
+		return time.atZone(ZONE).toInstant().toEpochMilli();
+	}
+
+	private static double round1(double value) {
+		return Math.round(value * 10.0) / 10.0;
+	}
+
+}
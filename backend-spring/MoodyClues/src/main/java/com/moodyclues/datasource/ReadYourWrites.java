@@ -0,0 +1,86 @@
+package com.moodyclues.datasource;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Users who wrote entries in the last few seconds, so their own reads stay on the
+// primary until the replica has caught up. EntryService and SyncService mark the
+// writer, ReadYourWritesInterceptor pins the request thread of a recent writer to the
+// primary. No-op when the replica is off.
+// This map only covers the node that took the write; the interceptor also carries the
+// window in a cookie so the next read is pinned on whichever node it lands.
+@Component
+public class ReadYourWrites {
+
+	private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+	private final boolean enabled;
+
+	private final Duration window;
+
+	private final Cache<String, Boolean> recentWriters;
+
+	public ReadYourWrites(
+			@Value("${moodyclues.replica.enabled:false}") boolean enabled,
+			@Value("${moodyclues.replica.read-your-writes:5s}") Duration window,
+			@Value("${moodyclues.replica.max-tracked-users:100000}") long maxTrackedUsers) {
+
+		this.enabled = enabled;
+		this.window = window;
+		this.recentWriters = Caffeine.newBuilder()
+				.maximumSize(maxTrackedUsers)
+				.expireAfterWrite(window)
+				.build();
+	}
+
+	// Marks now and again once the writing transaction commits, so the window is
+	// counted from the commit the replica has to apply
+	public void markWrite(String userId) {
+		if (!enabled || userId == null) {
+			return;
+		}
+
+		recentWriters.put(userId, Boolean.TRUE);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					recentWriters.put(userId, Boolean.TRUE);
+				}
+			});
+		}
+	}
+
+	public boolean wroteRecently(String userId) {
+		return enabled && userId != null && recentWriters.getIfPresent(userId) != null;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Duration getWindow() {
+		return window;
+	}
+
+	public static void pinToPrimary() {
+		PINNED.set(Boolean.TRUE);
+	}
+
+	public static void unpin() {
+		PINNED.remove();
+	}
+
+	public static boolean isPinned() {
+		return PINNED.get() != null;
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.moodyclues.datasource;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.moodyclues.security.CurrentUser;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Sends the reads of a user who just wrote to the primary for the rest of the request.
+// The user is resolved like MetricsConfig.client: signed-in user on the web routes,
+// userId path variable or request param on the Android ones.
+// ReadYourWrites only knows the writes this node took, so a write request also sets a
+// cookie holding the end of the window (epoch millis), and a request carrying an open
+// window is pinned whichever node it reaches. The cookie is set before the handler
+// runs, while the headers can still change, so the window starts at the request rather
+// than the commit. It only steers the client's own reads, so a forged value costs
+// nothing but primary load.
+// The pin is a ThreadLocal on a pooled servlet thread, so it is cleared wherever that
+// thread can leave the request: afterCompletion, or afterConcurrentHandlingStarted when
+// the handler went async (export), where afterCompletion only runs on the async dispatch.
+@Component
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+	public static final String COOKIE = "mc_rw_until";
+
+	private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+	@Autowired
+	ReadYourWrites readYourWrites;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// Never inherit a pin the thread's previous request left behind
+		ReadYourWrites.unpin();
+		if (!readYourWrites.isEnabled()) {
+			return true;
+		}
+
+		if (readYourWrites.wroteRecently(userId(request)) || windowOpen(request)) {
+			ReadYourWrites.pinToPrimary();
+		}
+		// Any non-read method: the Android writes carry their userId in the JSON body,
+		// which is not parsed yet here
+		if (!READ_METHODS.contains(request.getMethod())) {
+			response.addCookie(windowCookie());
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		ReadYourWrites.unpin();
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		ReadYourWrites.unpin();
+	}
+
+	private Cookie windowCookie() {
+		long windowMillis = readYourWrites.getWindow().toMillis();
+		Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + windowMillis));
+		cookie.setPath("/");
+		cookie.setHttpOnly(true);
+		cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+		return cookie;
+	}
+
+	private static boolean windowOpen(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return false;
+		}
+		for (Cookie cookie : cookies) {
+			if (COOKIE.equals(cookie.getName())) {
+				try {
+					return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static String userId(HttpServletRequest request) {
+		String userId = CurrentUser.id();
+		if (userId != null) {
+			return userId;
+		}
+
+		Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		if (vars instanceof Map<?, ?> map && map.get("userId") instanceof String pathUserId) {
+			return pathUserId;
+		}
+		return request.getParameter("userId");
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.moodyclues.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Read-only transactions go to the replica pool, everything else (writes, and any
+// work outside a transaction) to the primary. Only correct behind a
+// LazyConnectionDataSourceProxy: the transaction manager opens the connection before
+// the read-only flag is bound to the thread, the proxy defers the actual checkout
+// (and with it this lookup) to the first statement.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	public enum Route {
+		PRIMARY, REPLICA
+	}
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+		setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return currentRoute();
+	}
+
+	public static Route currentRoute() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinned()) {
+			return Route.REPLICA;
+		}
+		return Route.PRIMARY;
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.moodyclues.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Position of the last entry on a page, (createdAt, id), handed to clients as an
+// opaque token. The next page seeks past it instead of counting an OFFSET.
+public class EntryCursor {
+
+	private final LocalDateTime createdAt;
+	
+	private final String id;
+	
+	public EntryCursor(LocalDateTime createdAt, String id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+	
+	public static EntryCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int sep = raw.indexOf('|');
+			return new EntryCursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+		} catch (RuntimeException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+		}
+	}
+	
+	public String encode() {
+		String raw = createdAt + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public String getId() {
+		return id;
+	}
+	
+}
@@ -0,0 +1,39 @@
+package com.moodyclues.dto;
+
+import java.util.List;
+
+public class EntryPageDto<T> {
+
+	private List<T> items;
+	
+	// Null on the last page
+	private String nextCursor;
+	
+	
+	public EntryPageDto() {
+		
+	}
+	
+	public EntryPageDto(List<T> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+	
+}
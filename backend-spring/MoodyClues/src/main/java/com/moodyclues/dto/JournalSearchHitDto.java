@@ -0,0 +1,74 @@
+package com.moodyclues.dto;
+
+import java.time.LocalDateTime;
+
+public class JournalSearchHitDto {
+
+	private String id;
+	
+	private LocalDateTime createdAt;
+	
+	private Integer mood;
+	
+	private double score;
+	
+	// HTML-escaped, matched terms wrapped in <mark>
+	private String titleHighlight;
+	
+	private String snippet;
+	
+	
+	public JournalSearchHitDto() {
+		
+	}
+
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Integer getMood() {
+		return mood;
+	}
+
+	public void setMood(Integer mood) {
+		this.mood = mood;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public void setScore(double score) {
+		this.score = score;
+	}
+
+	public String getTitleHighlight() {
+		return titleHighlight;
+	}
+
+	public void setTitleHighlight(String titleHighlight) {
+		this.titleHighlight = titleHighlight;
+	}
+
+	public String getSnippet() {
+		return snippet;
+	}
+
+	public void setSnippet(String snippet) {
+		this.snippet = snippet;
+	}
+	
+}
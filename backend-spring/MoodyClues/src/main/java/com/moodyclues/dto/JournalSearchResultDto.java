@@ -0,0 +1,71 @@
+package com.moodyclues.dto;
+
+import java.util.List;
+
+public class JournalSearchResultDto {
+
+	private String query;
+	
+	private int page;
+	
+	private int size;
+	
+	private boolean hasMore;
+	
+	private List<JournalSearchHitDto> hits;
+	
+	
+	public JournalSearchResultDto() {
+		
+	}
+	
+	public JournalSearchResultDto(String query, int page, int size, boolean hasMore, List<JournalSearchHitDto> hits) {
+		this.query = query;
+		this.page = page;
+		this.size = size;
+		this.hasMore = hasMore;
+		this.hits = hits;
+	}
+
+
+	public String getQuery() {
+		return query;
+	}
+
+	public void setQuery(String query) {
+		this.query = query;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+	public List<JournalSearchHitDto> getHits() {
+		return hits;
+	}
+
+	public void setHits(List<JournalSearchHitDto> hits) {
+		this.hits = hits;
+	}
+	
+}
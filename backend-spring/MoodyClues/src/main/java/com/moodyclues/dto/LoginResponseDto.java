@@ -1,11 +1,17 @@
 package com.moodyclues.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class LoginResponseDto {
 
 	private String userId;
 	
 	private boolean showEmotion;
 	
+	// Token mode only, sent back as "Authorization: Bearer <token>"
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String token;
+	
 	
 	public LoginResponseDto() {
 		
@@ -30,6 +36,16 @@ public class LoginResponseDto {
 	public void setShowEmotion(boolean showEmotion) {
 		this.showEmotion = showEmotion;
 	}
+
+
+	public String getToken() {
+		return token;
+	}
+
+
+	public void setToken(String token) {
+		this.token = token;
+	}
 	
 	
 	
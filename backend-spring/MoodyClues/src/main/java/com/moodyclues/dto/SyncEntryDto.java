@@ -0,0 +1,117 @@
+package com.moodyclues.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One offline entry. type is "journal" or "habits", only that type's fields are read.
+public class SyncEntryDto {
+
+	private String type;
+	
+	private String clientRef;
+	
+	private LocalDateTime createdAt;
+	
+	// journal
+	private int mood;
+	
+	private String entryTitle;
+	
+	private String entryText;
+	
+	private List<String> emotions;
+	
+	// habits
+	private double sleep;
+	
+	private double water;
+	
+	private double workHours;
+	
+	
+	public SyncEntryDto() {
+		
+	}
+
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getClientRef() {
+		return clientRef;
+	}
+
+	public void setClientRef(String clientRef) {
+		this.clientRef = clientRef;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public int getMood() {
+		return mood;
+	}
+
+	public void setMood(int mood) {
+		this.mood = mood;
+	}
+
+	public String getEntryTitle() {
+		return entryTitle;
+	}
+
+	public void setEntryTitle(String entryTitle) {
+		this.entryTitle = entryTitle;
+	}
+
+	public String getEntryText() {
+		return entryText;
+	}
+
+	public void setEntryText(String entryText) {
+		this.entryText = entryText;
+	}
+
+	public List<String> getEmotions() {
+		return emotions;
+	}
+
+	public void setEmotions(List<String> emotions) {
+		this.emotions = emotions;
+	}
+
+	public double getSleep() {
+		return sleep;
+	}
+
+	public void setSleep(double sleep) {
+		this.sleep = sleep;
+	}
+
+	public double getWater() {
+		return water;
+	}
+
+	public void setWater(double water) {
+		this.water = water;
+	}
+
+	public double getWorkHours() {
+		return workHours;
+	}
+
+	public void setWorkHours(double workHours) {
+		this.workHours = workHours;
+	}
+	
+}
@@ -0,0 +1,36 @@
+package com.moodyclues.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class SyncRequestDto {
+
+	@NotBlank
+	private String userId;
+	
+	private List<SyncEntryDto> entries;
+	
+	
+	public SyncRequestDto() {
+		
+	}
+
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public List<SyncEntryDto> getEntries() {
+		return entries;
+	}
+
+	public void setEntries(List<SyncEntryDto> entries) {
+		this.entries = entries;
+	}
+	
+}
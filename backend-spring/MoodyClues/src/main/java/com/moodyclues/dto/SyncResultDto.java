@@ -0,0 +1,64 @@
+package com.moodyclues.dto;
+
+public class SyncResultDto {
+
+	public enum Status {
+		CREATED,
+		DUPLICATE,		// already synced, entryId is the stored entry
+		REJECTED		// invalid item, see message
+	}
+	
+	private String clientRef;
+	
+	private Status status;
+	
+	private String entryId;
+	
+	private String message;
+	
+	
+	public SyncResultDto() {
+		
+	}
+	
+	public SyncResultDto(String clientRef, Status status, String entryId, String message) {
+		this.clientRef = clientRef;
+		this.status = status;
+		this.entryId = entryId;
+		this.message = message;
+	}
+
+
+	public String getClientRef() {
+		return clientRef;
+	}
+
+	public void setClientRef(String clientRef) {
+		this.clientRef = clientRef;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getEntryId() {
+		return entryId;
+	}
+
+	public void setEntryId(String entryId) {
+		this.entryId = entryId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+	
+}
@@ -0,0 +1,140 @@
+package com.moodyclues.maintenance;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Keeps the monthly partitions from V16 ahead of the calendar: splits the coming
+// months off p_future while it is still empty, which is cheap. Nothing is ever dropped.
+// Runs at startup and nightly. Every node runs it, a MySQL named lock lets only one of
+// them do the work at a time.
+@Component
+@ConditionalOnProperty(name = "moodyclues.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionMaintenanceJob {
+
+	private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+	private static final ZoneId ZONE = ZoneId.of("Asia/Singapore");
+
+	// All partitioned by month with RANGE COLUMNS, last partition p_future (MAXVALUE)
+	private static final List<String> TABLES = List.of("user_daily_stats", "emotion_daily_counts");
+
+	private static final String FUTURE = "p_future";
+
+	private static final String LOCK_NAME = "moodyclues_partition_maintenance";
+
+	private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+	private final int monthsAhead;
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	public PartitionMaintenanceJob(@Value("${moodyclues.partitions.months-ahead:3}") int monthsAhead) {
+		this.monthsAhead = Math.max(1, monthsAhead);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onStartup() {
+		run();
+	}
+
+	@Scheduled(cron = "${moodyclues.partitions.cron:0 30 3 * * *}", zone = "Asia/Singapore")
+	public void run() {
+		try {
+			jdbc.execute((ConnectionCallback<Void>) connection -> {
+				maintain(connection);
+				return null;
+			});
+		} catch (RuntimeException e) {
+			// Inserts still land in p_future, the next run tries again
+			log.warn("Partition maintenance failed", e);
+		}
+	}
+
+	private void maintain(Connection connection) throws SQLException {
+
+		// The H2 schema in the load test is built from the entities, unpartitioned
+		if (!"MySQL".equals(connection.getMetaData().getDatabaseProductName())) {
+			return;
+		}
+
+		// The named lock belongs to the connection, so everything runs on this one
+		JdbcTemplate on = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+		Integer locked = on.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+		if (locked == null || locked != 1) {
+			log.debug("Partition maintenance already running on another node");
+			return;
+		}
+
+		try {
+			LocalDate today = LocalDate.now(ZONE);
+			for (String table : TABLES) {
+				maintainTable(on, table, today);
+			}
+		} finally {
+			on.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+		}
+	}
+
+	private void maintainTable(JdbcTemplate on, String table, LocalDate today) {
+
+		List<Partition> partitions = on.query(
+				"SELECT PARTITION_NAME, PARTITION_DESCRIPTION " +
+						"FROM information_schema.PARTITIONS " +
+						"WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+						"ORDER BY PARTITION_ORDINAL_POSITION",
+				(rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))),
+				table);
+
+		if (partitions.size() < 2 || !FUTURE.equals(partitions.get(partitions.size() - 1).name())) {
+			log.warn("{} is not partitioned as in V16, skipped", table);
+			return;
+		}
+
+		// Months up to and including today + monthsAhead get their own partition
+		LocalDate horizon = today.withDayOfMonth(1).plusMonths(monthsAhead + 1);
+		LocalDate next = partitions.get(partitions.size() - 2).upperBound();
+
+		List<String> added = new ArrayList<>();
+		for (LocalDate from = next; from.isBefore(horizon); from = from.plusMonths(1)) {
+			added.add("PARTITION p" + from.format(MONTH) + " VALUES LESS THAN ('" + from.plusMonths(1) + "')");
+		}
+		if (!added.isEmpty()) {
+			added.add("PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE)");
+			on.execute("ALTER TABLE `" + table + "` REORGANIZE PARTITION " + FUTURE + " INTO (" +
+					String.join(", ", added) + ")");
+			log.info("Added {} monthly partition(s) to {}", added.size() - 1, table);
+		}
+	}
+
+	// PARTITION_DESCRIPTION is the quoted bound ('2026-01-01'), or MAXVALUE for p_future
+	private static LocalDate upperBound(String description) {
+		if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+			return null;
+		}
+		return LocalDate.parse(description.replace("'", "").substring(0, 10));
+	}
+
+	private record Partition(String name, LocalDate upperBound) {
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.moodyclues.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// How many of a user's non-archived entries on a day were tagged with an
+// emotion, so the emotion widget never has to join entry_emotions
+@Entity
+@Table(name = "emotion_daily_counts")
+public class EmotionDailyCount {
+
+	@EmbeddedId
+	private EmotionDailyCountId id;
+	
+	private int cnt;
+	
+	
+	// EMPTY CONSTRUCTOR
+	public EmotionDailyCount() {
+		
+	}
+
+
+	// GETTERS AND SETTERS BELOW
+	public EmotionDailyCountId getId() {
+		return id;
+	}
+
+	public void setId(EmotionDailyCountId id) {
+		this.id = id;
+	}
+
+	public int getCnt() {
+		return cnt;
+	}
+
+	public void setCnt(int cnt) {
+		this.cnt = cnt;
+	}
+	
+}
@@ -0,0 +1,72 @@
+package com.moodyclues.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class EmotionDailyCountId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String userId;
+	
+	private LocalDate day;
+	
+	private String emotionId;
+	
+	
+	// EMPTY CONSTRUCTOR
+	public EmotionDailyCountId() {
+		
+	}
+	
+	public EmotionDailyCountId(String userId, LocalDate day, String emotionId) {
+		this.userId = userId;
+		this.day = day;
+		this.emotionId = emotionId;
+	}
+
+
+	// GETTERS AND SETTERS BELOW
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public LocalDate getDay() {
+		return day;
+	}
+
+	public void setDay(LocalDate day) {
+		this.day = day;
+	}
+
+	public String getEmotionId() {
+		return emotionId;
+	}
+
+	public void setEmotionId(String emotionId) {
+		this.emotionId = emotionId;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof EmotionDailyCountId)) return false;
+		EmotionDailyCountId other = (EmotionDailyCountId) o;
+		return Objects.equals(userId, other.userId) && Objects.equals(day, other.day)
+				&& Objects.equals(emotionId, other.emotionId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(userId, day, emotionId);
+	}
+	
+}
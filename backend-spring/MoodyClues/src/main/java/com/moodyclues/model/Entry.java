@@ -2,12 +2,9 @@ package com.moodyclues.model;
 
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
-
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MappedSuperclass;
@@ -16,8 +13,7 @@ import jakarta.persistence.MappedSuperclass;
 public abstract class Entry {
 
 	@Id
-	@GeneratedValue
-	@UuidGenerator
+	@TimeOrderedUuid
 	protected String id;
 	
 	@ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -29,6 +25,10 @@ public abstract class Entry {
 	protected LocalDateTime lastSavedAt;
 
     protected boolean archived = false;
+    
+    // Id the Android client gave the entry offline, unique per user (see SyncService)
+    @JsonIgnore
+    protected String clientRef;
 
 	
 	
@@ -72,6 +72,14 @@ public abstract class Entry {
 	public void setArchived(boolean archived) {
 		this.archived = archived;
 	}
+
+	public String getClientRef() {
+		return clientRef;
+	}
+
+	public void setClientRef(String clientRef) {
+		this.clientRef = clientRef;
+	}
 	
 	
 }
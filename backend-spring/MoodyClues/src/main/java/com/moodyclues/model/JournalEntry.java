@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
@@ -20,6 +22,8 @@ public class JournalEntry extends Entry {
 	
 	private String entryText;
 	
+	// Loaded for a whole page of entries at once instead of one query per entry
+	@BatchSize(size = 100)
 	@ManyToMany
 	@JoinTable(name = "entry_emotions",
 	joinColumns = @JoinColumn(name = "entry_id"),
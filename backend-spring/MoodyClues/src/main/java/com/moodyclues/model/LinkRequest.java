@@ -2,13 +2,10 @@ package com.moodyclues.model;
 
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
-
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 
@@ -16,8 +13,7 @@ import jakarta.persistence.ManyToOne;
 public class LinkRequest {
 
 	@Id
-	@GeneratedValue
-	@UuidGenerator
+	@TimeOrderedUuid
 	private String id;
 	
 	@ManyToOne(fetch = FetchType.LAZY, optional = false)
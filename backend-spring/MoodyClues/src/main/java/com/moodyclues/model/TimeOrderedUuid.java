@@ -0,0 +1,18 @@
+package com.moodyclues.model;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// UUIDv7 ids for high-volume tables: new rows land at the right-hand end of the
+// primary key instead of a random page. Use in place of @GeneratedValue @UuidGenerator.
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,92 @@
+package com.moodyclues.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// Rollup of one user's non-archived entries for one day, kept in step by
+// EntryServiceImpl so the dashboard reads one row per day instead of every entry
+@Entity
+@Table(name = "user_daily_stats")
+public class UserDailyStats {
+
+	@EmbeddedId
+	private UserDailyStatsId id;
+	
+	private double moodSum;
+	
+	private int moodCount;
+	
+	private int habitsCount;
+	
+	private double sleepSum;
+	
+	private double waterSum;
+	
+	private double workHoursSum;
+	
+	
+	// EMPTY CONSTRUCTOR
+	public UserDailyStats() {
+		
+	}
+
+
+	// GETTERS AND SETTERS BELOW
+	public UserDailyStatsId getId() {
+		return id;
+	}
+
+	public void setId(UserDailyStatsId id) {
+		this.id = id;
+	}
+
+	public double getMoodSum() {
+		return moodSum;
+	}
+
+	public void setMoodSum(double moodSum) {
+		this.moodSum = moodSum;
+	}
+
+	public int getMoodCount() {
+		return moodCount;
+	}
+
+	public void setMoodCount(int moodCount) {
+		this.moodCount = moodCount;
+	}
+
+	public int getHabitsCount() {
+		return habitsCount;
+	}
+
+	public void setHabitsCount(int habitsCount) {
+		this.habitsCount = habitsCount;
+	}
+
+	public double getSleepSum() {
+		return sleepSum;
+	}
+
+	public void setSleepSum(double sleepSum) {
+		this.sleepSum = sleepSum;
+	}
+
+	public double getWaterSum() {
+		return waterSum;
+	}
+
+	public void setWaterSum(double waterSum) {
+		this.waterSum = waterSum;
+	}
+
+	public double getWorkHoursSum() {
+		return workHoursSum;
+	}
+
+	public void setWorkHoursSum(double workHoursSum) {
+		this.workHoursSum = workHoursSum;
+	}
+	
+}
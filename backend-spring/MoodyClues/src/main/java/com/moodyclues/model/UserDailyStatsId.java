@@ -0,0 +1,60 @@
+package com.moodyclues.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class UserDailyStatsId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String userId;
+	
+	private LocalDate day;
+	
+	
+	// EMPTY CONSTRUCTOR
+	public UserDailyStatsId() {
+		
+	}
+	
+	public UserDailyStatsId(String userId, LocalDate day) {
+		this.userId = userId;
+		this.day = day;
+	}
+
+
+	// GETTERS AND SETTERS BELOW
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public LocalDate getDay() {
+		return day;
+	}
+
+	public void setDay(LocalDate day) {
+		this.day = day;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof UserDailyStatsId)) return false;
+		UserDailyStatsId other = (UserDailyStatsId) o;
+		return Objects.equals(userId, other.userId) && Objects.equals(day, other.day);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(userId, day);
+	}
+	
+}
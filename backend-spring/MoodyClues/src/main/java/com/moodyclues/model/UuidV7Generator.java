@@ -0,0 +1,52 @@
+package com.moodyclues.model;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+// RFC 9562 version 7: 48-bit unix millis, then a 12-bit counter (rand_a) so ids
+// created in the same millisecond still sort in creation order, then 62 random bits.
+// The string form sorts the same way, which is what the char(36) key columns use.
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+	
+	// (millis << 12) | counter of the last id handed out
+	private static final AtomicLong LAST = new AtomicLong();
+	
+	public static UUID next() {
+		long now = System.currentTimeMillis() << 12;
+		long stamp = LAST.updateAndGet(prev -> Math.max(prev + 1, now));
+		
+		long msb = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);
+		long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+		
+		return new UUID(msb, lsb);
+	}
+	
+	// For rows created with a past timestamp (bulk imports, datagen), ordered by that time
+	public static UUID forMillis(long epochMillis) {
+		long msb = (epochMillis << 16) | 0x7000L | (RANDOM.nextInt() & 0xFFFL);
+		long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+		
+		return new UUID(msb, lsb);
+	}
+	
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+			EventType eventType) {
+		return next().toString();
+	}
+
+	@Override
+	public EnumSet<EventType> getEventTypes() {
+		return EventTypeSets.INSERT_ONLY;
+	}
+
+}
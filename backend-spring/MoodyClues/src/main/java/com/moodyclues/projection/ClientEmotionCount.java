@@ -0,0 +1,11 @@
+package com.moodyclues.projection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public interface ClientEmotionCount extends EmotionCount {
+
+	// Only used to group rows per client, the payload is already keyed by id
+	@JsonIgnore
+	String getUserId();
+
+}
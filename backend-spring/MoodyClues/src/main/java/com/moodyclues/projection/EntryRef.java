@@ -0,0 +1,8 @@
+package com.moodyclues.projection;
+
+public interface EntryRef {
+
+	String getId();
+	String getClientRef();
+	
+}
@@ -0,0 +1,14 @@
+package com.moodyclues.projection;
+
+import java.time.LocalDateTime;
+
+public interface HabitsExportRow {
+
+	String getId();
+	LocalDateTime getCreatedAt();
+	LocalDateTime getLastSavedAt();
+	Double getSleep();
+	Double getWater();
+	Double getWorkHours();
+	
+}
@@ -0,0 +1,12 @@
+package com.moodyclues.projection;
+
+public interface IdentityRow {
+
+	String getId();
+	// JOURNAL or COUNSELLOR
+	String getRole();
+	String getPassword();
+	// Journal users only, null for counsellors
+	Boolean getShowEmotion();
+	
+}
@@ -0,0 +1,16 @@
+package com.moodyclues.projection;
+
+import java.time.LocalDateTime;
+
+public interface JournalExportRow {
+
+	String getId();
+	LocalDateTime getCreatedAt();
+	LocalDateTime getLastSavedAt();
+	String getEntryTitle();
+	String getEntryText();
+	Integer getMood();
+	// Labels joined with '|', null when the entry has none
+	String getEmotions();
+	
+}
@@ -0,0 +1,14 @@
+package com.moodyclues.projection;
+
+import java.time.LocalDateTime;
+
+public interface JournalSearchRow {
+
+	String getId();
+	String getEntryTitle();
+	String getEntryText();
+	LocalDateTime getCreatedAt();
+	Integer getMood();
+	Double getScore();
+	
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -19,6 +20,10 @@ public interface CounsellorRepository extends JpaRepository<CounsellorUser, Stri
 	@Query("SELECT c FROM CounsellorUser c WHERE c.id = :id")
 	public Optional<CounsellorUser> findCounsellorById(@Param("id") String id);
 
+	@Modifying
+	@Query(value = "UPDATE counsellor_user SET password = :password WHERE id = :id", nativeQuery = true)
+	public int updatePassword(@Param("id") String id, @Param("password") String password);
+
 
 	@Query("""
 			    SELECT j
@@ -39,4 +44,9 @@ public interface CounsellorRepository extends JpaRepository<CounsellorUser, Stri
 	public boolean isLinkedTo(@Param("cid") String counsellorId, @Param("jid") String journalUserId);
 
 
+	// For CounsellorLinkCache, read from the (counsellor_id, client_id) index only
+	@Query(value = "SELECT cc.client_id FROM counsellor_client cc WHERE cc.counsellor_id = :cid", nativeQuery = true)
+	public List<String> findClientIds(@Param("cid") String counsellorId);
+
+
 }
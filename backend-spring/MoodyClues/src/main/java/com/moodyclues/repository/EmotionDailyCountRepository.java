@@ -0,0 +1,107 @@
+package com.moodyclues.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.moodyclues.model.EmotionDailyCount;
+import com.moodyclues.model.EmotionDailyCountId;
+import com.moodyclues.projection.ClientEmotionCount;
+import com.moodyclues.projection.EmotionCount;
+
+public interface EmotionDailyCountRepository extends JpaRepository<EmotionDailyCount, EmotionDailyCountId> {
+
+	// WRITE SIDE (delta is -1 when an entry is archived)
+
+	@Modifying
+	@Query(
+			value =
+			"INSERT INTO emotion_daily_counts (user_id, day, emotion_id, cnt) " +
+					"VALUES (:userId, :day, :emotionId, :delta) " +
+					"ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)",
+					nativeQuery = true
+			)
+	public int addCount(
+			@Param("userId")    String userId,
+			@Param("day")       LocalDate day,
+			@Param("emotionId") String emotionId,
+			@Param("delta")     int delta
+			);
+
+	// Same as addCount for all of an entry's emotions in one statement
+	@Modifying
+	@Query(
+			value =
+			"INSERT INTO emotion_daily_counts (user_id, day, emotion_id, cnt) " +
+					"SELECT :userId, :day, em.id, :delta " +
+					"FROM emotions em " +
+					"WHERE em.id IN (:emotionIds) " +
+					"ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)",
+					nativeQuery = true
+			)
+	public int addCounts(
+			@Param("userId")     String userId,
+			@Param("day")        LocalDate day,
+			@Param("emotionIds") List<String> emotionIds,
+			@Param("delta")      int delta
+			);
+
+	// Takes an archived entry's emotions off its day, see UserDailyStatsRepository.removeJournal
+	@Modifying
+	@Query(
+			value =
+			"UPDATE emotion_daily_counts c " +
+					"JOIN journal_entries e ON e.user_id = c.user_id AND DATE(e.created_at) = c.day " +
+					"JOIN entry_emotions ee ON ee.entry_id = e.id AND ee.emotion_id = c.emotion_id " +
+					"SET c.cnt = c.cnt - 1 " +
+					"WHERE e.id = :entryId",
+					nativeQuery = true
+			)
+	public int removeEntry(@Param("entryId") String entryId);
+
+
+	// FOR DASHBOARD
+
+	@Query(value =
+			"SELECT em.emotion_label AS emotion, COALESCE(c.cnt, 0) AS cnt " +
+					"FROM emotions em " +
+					"LEFT JOIN ( " +
+					"  SELECT d.emotion_id, SUM(d.cnt) AS cnt " +
+					"  FROM emotion_daily_counts d " +
+					"  WHERE d.user_id = :userId " +
+					"    AND d.day BETWEEN :from AND :to " +
+					"  GROUP BY d.emotion_id " +
+					") c ON c.emotion_id = em.id " +
+					"ORDER BY em.emotion_label",
+					nativeQuery = true)
+	public List<EmotionCount> sumBetween(
+			@Param("userId") String userId,
+			@Param("from")   LocalDate from,
+			@Param("to")     LocalDate to
+			);
+
+	@Query(value =
+			"SELECT u.id AS userId, em.emotion_label AS emotion, COALESCE(c.cnt, 0) AS cnt " +
+					"FROM journal_users u " +
+					"CROSS JOIN emotions em " +
+					"LEFT JOIN ( " +
+					"  SELECT d.user_id, d.emotion_id, SUM(d.cnt) AS cnt " +
+					"  FROM emotion_daily_counts d " +
+					"  WHERE d.user_id IN (:userIds) " +
+					"    AND d.day BETWEEN :from AND :to " +
+					"  GROUP BY d.user_id, d.emotion_id " +
+					") c ON c.user_id = u.id AND c.emotion_id = em.id " +
+					"WHERE u.id IN (:userIds) " +
+					"ORDER BY u.id, em.emotion_label",
+					nativeQuery = true)
+	public List<ClientEmotionCount> sumBetweenForUsers(
+			@Param("userIds") List<String> userIds,
+			@Param("from")    LocalDate from,
+			@Param("to")      LocalDate to
+			);
+
+}
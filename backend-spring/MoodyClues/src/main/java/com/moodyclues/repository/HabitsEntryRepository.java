@@ -1,31 +1,87 @@
 package com.moodyclues.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import com.moodyclues.model.HabitsEntry;
+import com.moodyclues.projection.EntryRef;
 import com.moodyclues.projection.HabitsDayFlat;
+import com.moodyclues.projection.HabitsExportRow;
 
 public interface HabitsEntryRepository extends JpaRepository<HabitsEntry, String> {
 
-	@Query("SELECT h FROM HabitsEntry h JOIN h.user u WHERE u.id = :userId AND h.archived = false")
-	public List<HabitsEntry> getAllHabitsEntriesByUserId(@Param("userId") String userId);
+	@Query("SELECT h FROM HabitsEntry h JOIN h.user u WHERE u.id = :userId AND h.archived = false ORDER BY h.createdAt DESC, h.id DESC")
+	public List<HabitsEntry> getAllHabitsEntriesByUserId(@Param("userId") String userId, Pageable limit);
 
 	@Query("SELECT h FROM HabitsEntry h WHERE h.id = :entryId AND h.archived = false")
 	public HabitsEntry getHabitsEntryById(@Param("entryId") String entryId);
 
+	// OWNER-SCOPED WRITES (0 rows when the entry is missing, archived or someone else's)
+
+	@Modifying
+	@Query(
+			value =
+			"UPDATE habits_entries " +
+					"SET archived = true " +
+					"WHERE id = :entryId " +
+					"  AND user_id = :userId " +
+					"  AND archived = false",
+					nativeQuery = true
+			)
+	public int archiveOwned(@Param("entryId") String entryId, @Param("userId") String userId);
+
+	// First step of an edit: checks the owner and locks the row, the old values stay
+	// in place for UserDailyStatsRepository.replaceHabits
+	@Modifying
+	@Query(
+			value =
+			"UPDATE habits_entries " +
+					"SET last_saved_at = :now " +
+					"WHERE id = :entryId " +
+					"  AND user_id = :userId " +
+					"  AND archived = false",
+					nativeQuery = true
+			)
+	public int touchOwned(
+			@Param("entryId") String entryId,
+			@Param("userId")  String userId,
+			@Param("now")     LocalDateTime now
+			);
+
+	@Modifying
+	@Query(
+			value =
+			"UPDATE habits_entries " +
+					"SET sleep = :sleep, water = :water, work_hours = :workHours " +
+					"WHERE id = :entryId",
+					nativeQuery = true
+			)
+	public int updateValues(
+			@Param("entryId")   String entryId,
+			@Param("sleep")     double sleep,
+			@Param("water")     double water,
+			@Param("workHours") double workHours
+			);
+
 	@Query("""
 			    SELECT h
 			    FROM HabitsEntry h
 			    WHERE h.user.id = :jid AND h.archived = false
-			    ORDER BY h.createdAt DESC
+			    ORDER BY h.createdAt DESC, h.id DESC
 			""")
-	public List<HabitsEntry> findVisibleByUserId(@Param("jid") String journalUserId);
+	public List<HabitsEntry> findVisibleByUserId(@Param("jid") String journalUserId, Pageable limit);
 
 	@Query("""
 			    SELECT h
@@ -34,6 +90,50 @@ public interface HabitsEntryRepository extends JpaRepository<HabitsEntry, String
 			""")
 	public Optional<HabitsEntry> findByIdAndUserId(@Param("eid") String entryId, @Param("jid") String journalUserId);
 
+	// KEYSET PAGINATION (pass PageRequest.of(0, n), only the LIMIT is used)
+
+	@Query("""
+			    SELECT h
+			    FROM HabitsEntry h
+			    WHERE h.user.id = :userId AND h.archived = false
+			    ORDER BY h.createdAt DESC, h.id DESC
+			""")
+	public List<HabitsEntry> findFirstPage(@Param("userId") String userId, Pageable limit);
+
+	@Query("""
+			    SELECT h
+			    FROM HabitsEntry h
+			    WHERE h.user.id = :userId AND h.archived = false
+			      AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.id < :id))
+			    ORDER BY h.createdAt DESC, h.id DESC
+			""")
+	public List<HabitsEntry> findPageAfter(
+			@Param("userId")    String userId,
+			@Param("createdAt") LocalDateTime createdAt,
+			@Param("id")        String id,
+			Pageable limit);
+
+	// OFFLINE SYNC
+
+	@Query("SELECT h.id AS id, h.clientRef AS clientRef FROM HabitsEntry h WHERE h.user.id = :userId AND h.clientRef IN :refs")
+	public List<EntryRef> findByClientRefs(@Param("userId") String userId, @Param("refs") Collection<String> clientRefs);
+
+	// EXPORT (streamed like JournalEntryRepository.streamForExport)
+
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+	@Query(
+			value =
+			"SELECT h.id AS id, h.created_at AS createdAt, h.last_saved_at AS lastSavedAt, " +
+					"       h.sleep AS sleep, h.water AS water, h.work_hours AS workHours " +
+					"FROM habits_entries h " +
+					"WHERE h.user_id = :userId " +
+					"  AND h.archived = false " +
+					"ORDER BY h.created_at, h.id",
+					nativeQuery = true
+			)
+	public Stream<HabitsExportRow> streamForExport(@Param("userId") String userId);
+
+
 	// FOR DASHBOARD
 
 	@Query(
@@ -1,35 +1,82 @@
 package com.moodyclues.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import com.moodyclues.model.JournalEntry;
-import com.moodyclues.projection.EmotionCount;
-import com.moodyclues.projection.JournalDailyAgg;
+import com.moodyclues.projection.EntryRef;
+import com.moodyclues.projection.JournalExportRow;
+import com.moodyclues.projection.JournalSearchRow;
 
 public interface JournalEntryRepository extends JpaRepository<JournalEntry, String> {
 
-	@Query("SELECT j FROM JournalEntry j JOIN j.user u WHERE u.id = :userId AND j.archived = false")
-	public List<JournalEntry> getAllJournalEntriesByUserId(@Param("userId") String userId);
+	@Query("SELECT j FROM JournalEntry j JOIN j.user u WHERE u.id = :userId AND j.archived = false ORDER BY j.createdAt DESC, j.id DESC")
+	public List<JournalEntry> getAllJournalEntriesByUserId(@Param("userId") String userId, Pageable limit);
 
 	@Query("SELECT j FROM JournalEntry j WHERE j.id = :entryId AND j.archived = false")
 	public JournalEntry getJournalEntryById(@Param("entryId") String entryId);
 
+	// OWNER-SCOPED WRITES (0 rows when the entry is missing, archived or someone else's)
 
-	@EntityGraph(attributePaths = {"emotions"})
+	@Modifying
+	@Query(
+			value =
+			"UPDATE journal_entries " +
+					"SET archived = true " +
+					"WHERE id = :entryId " +
+					"  AND user_id = :userId " +
+					"  AND archived = false",
+					nativeQuery = true
+			)
+	public int archiveOwned(@Param("entryId") String entryId, @Param("userId") String userId);
+
+
+	// Emotions are batch-fetched (see JournalEntry), a fetch join here would make Hibernate
+	// drop the LIMIT and page in memory
 	@Query("""
 			    SELECT e
 			    FROM JournalEntry e
 			    WHERE e.user.id = :jid AND e.archived = false
-			    ORDER BY e.createdAt DESC
+			    ORDER BY e.createdAt DESC, e.id DESC
 			""")
-	public List<JournalEntry> findVisibleByUserId(@Param("jid") String journalUserId);
+	public List<JournalEntry> findVisibleByUserId(@Param("jid") String journalUserId, Pageable limit);
+
+
+	// KEYSET PAGINATION (pass PageRequest.of(0, n), only the LIMIT is used)
+
+	@Query("""
+			    SELECT e
+			    FROM JournalEntry e
+			    WHERE e.user.id = :userId AND e.archived = false
+			    ORDER BY e.createdAt DESC, e.id DESC
+			""")
+	public List<JournalEntry> findFirstPage(@Param("userId") String userId, Pageable limit);
+
+	@Query("""
+			    SELECT e
+			    FROM JournalEntry e
+			    WHERE e.user.id = :userId AND e.archived = false
+			      AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id))
+			    ORDER BY e.createdAt DESC, e.id DESC
+			""")
+	public List<JournalEntry> findPageAfter(
+			@Param("userId")    String userId,
+			@Param("createdAt") LocalDateTime createdAt,
+			@Param("id")        String id,
+			Pageable limit);
 
 	@EntityGraph(attributePaths = {"emotions"})
 	@Query("""
@@ -39,56 +86,76 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Stri
 			""")
 	public Optional<JournalEntry> findByIdAndUserId(@Param("eid") String entryId, @Param("jid") String journalUserId);
 
-	@Query("""
-			SELECT e FROM JournalEntry e
-			WHERE e.user.id = :userId
-			  AND e.archived = false
-			  AND LOWER(e.entryTitle) LIKE LOWER(CONCAT('%', :q, '%'))
-			ORDER BY e.createdAt DESC
-			""")
-	public List<JournalEntry> searchByTitle(
-			@Param("userId") String userId,
-			@Param("q") String q);
+	// OFFLINE SYNC
+
+	@Query("SELECT e.id AS id, e.clientRef AS clientRef FROM JournalEntry e WHERE e.user.id = :userId AND e.clientRef IN :refs")
+	public List<EntryRef> findByClientRefs(@Param("userId") String userId, @Param("refs") Collection<String> clientRefs);
 
 
-	// FOR DASHBOARD
+	// EXPORT (see ExportServiceImpl)
 
+	// A fetch size of Integer.MIN_VALUE makes Connector/J stream rows one at a time instead
+	// of buffering the whole result. Must be consumed and closed inside a transaction.
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
 	@Query(
 			value =
-			"SELECT DATE(e.created_at) AS day, " +
-					"       AVG(e.mood)        AS avgMood, " +
-					"       COUNT(*)           AS entries " +
+			"SELECT e.id AS id, e.created_at AS createdAt, e.last_saved_at AS lastSavedAt, " +
+					"       e.entry_title AS entryTitle, e.entry_text AS entryText, e.mood AS mood, " +
+					"       (SELECT GROUP_CONCAT(em.emotion_label ORDER BY em.emotion_label SEPARATOR '|') " +
+					"          FROM entry_emotions ee JOIN emotions em ON em.id = ee.emotion_id " +
+					"         WHERE ee.entry_id = e.id) AS emotions " +
 					"FROM journal_entries e " +
 					"WHERE e.user_id = :userId " +
-					"  AND e.created_at BETWEEN :start AND :end " +
-					"GROUP BY DATE(e.created_at) " +
-					"ORDER BY day",
+					"  AND e.archived = false " +
+					"ORDER BY e.created_at, e.id",
 					nativeQuery = true
 			)
-	public List<JournalDailyAgg> findDailyAggBetween(
-			@Param("userId") String userId,
-			@Param("start")  LocalDateTime start,
-			@Param("end")    LocalDateTime end
-			);
+	public Stream<JournalExportRow> streamForExport(@Param("userId") String userId);
 
 
-	@Query(value =
-			"SELECT em.emotion_label AS emotion, COALESCE(c.cnt, 0) AS cnt " +
-					"FROM emotions em " +
-					"LEFT JOIN ( " +
-					"  SELECT ee.emotion_id, COUNT(*) AS cnt " +
-					"  FROM entry_emotions ee " +
-					"  JOIN journal_entries e ON ee.entry_id = e.id " +
-					"  WHERE e.user_id = :userId " +
-					"    AND e.created_at BETWEEN :start AND :end " +
-					"  GROUP BY ee.emotion_id " +
-					") c ON c.emotion_id = em.id " +
-					"ORDER BY em.emotion_label",
-					nativeQuery = true)
-	public List<EmotionCount> countEmotionsBetween(
+	// SEARCH (see search.JournalSearchBackend)
+
+	// Title hits weigh double. :q is a BOOLEAN MODE query, e.g. "+work* +stress*"
+	@Query(
+			value =
+			"SELECT e.id AS id, e.entry_title AS entryTitle, e.entry_text AS entryText, " +
+					"       e.created_at AS createdAt, e.mood AS mood, " +
+					"       2 * MATCH(e.entry_title) AGAINST (:q IN BOOLEAN MODE) " +
+					"         + MATCH(e.entry_title, e.entry_text) AGAINST (:q IN BOOLEAN MODE) AS score " +
+					"FROM journal_entries e " +
+					"WHERE e.user_id = :userId " +
+					"  AND e.archived = false " +
+					"  AND MATCH(e.entry_title, e.entry_text) AGAINST (:q IN BOOLEAN MODE) " +
+					"ORDER BY score DESC, e.created_at DESC, e.id DESC " +
+					"LIMIT :limit OFFSET :offset",
+					nativeQuery = true
+			)
+	public List<JournalSearchRow> searchFullText(
 			@Param("userId") String userId,
-			@Param("start")  LocalDateTime start,
-			@Param("end")    LocalDateTime end
+			@Param("q")      String booleanQuery,
+			@Param("limit")  int limit,
+			@Param("offset") int offset
+			);
+
+	@Query(
+			value =
+			"SELECT e.id AS id, e.entry_title AS entryTitle, e.entry_text AS entryText, " +
+					"       e.created_at AS createdAt, e.mood AS mood, " +
+					"       CAST(CASE WHEN LOWER(e.entry_title) LIKE :pattern THEN 2 ELSE 0 END " +
+					"          + CASE WHEN LOWER(e.entry_text) LIKE :pattern THEN 1 ELSE 0 END AS DOUBLE) AS score " +
+					"FROM journal_entries e " +
+					"WHERE e.user_id = :userId " +
+					"  AND e.archived = false " +
+					"  AND (LOWER(e.entry_title) LIKE :pattern OR LOWER(e.entry_text) LIKE :pattern) " +
+					"ORDER BY score DESC, e.created_at DESC, e.id DESC " +
+					"LIMIT :limit OFFSET :offset",
+					nativeQuery = true
+			)
+	public List<JournalSearchRow> searchLike(
+			@Param("userId")  String userId,
+			@Param("pattern") String pattern,
+			@Param("limit")   int limit,
+			@Param("offset")  int offset
 			);
 
 }
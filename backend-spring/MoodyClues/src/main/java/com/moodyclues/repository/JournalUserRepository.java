@@ -1,13 +1,16 @@
 package com.moodyclues.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.moodyclues.model.JournalUser;
 import com.moodyclues.model.User;
+import com.moodyclues.projection.IdentityRow;
 
 
 public interface JournalUserRepository extends JpaRepository<JournalUser, String> {
@@ -18,4 +21,39 @@ public interface JournalUserRepository extends JpaRepository<JournalUser, String
 	@Query("SELECT u FROM JournalUser u WHERE u.id = :id")
 	public Optional<JournalUser> findJournalUserById(@Param("id") String id);
 	
+	// LOGIN (see AuthenticationServiceImpl)
+	
+	// Journal users and counsellors in one round trip, each side a unique-key lookup (V14).
+	// At most one row per role, journal first.
+	@Query(
+			value =
+			"SELECT u.id AS id, 'JOURNAL' AS role, u.password AS password, u.show_emotion AS showEmotion " +
+					"FROM journal_users u WHERE u.email = :email " +
+					"UNION ALL " +
+					"SELECT c.id, 'COUNSELLOR', c.password, NULL " +
+					"FROM counsellor_user c WHERE c.email = :email " +
+					"ORDER BY role DESC",
+					nativeQuery = true
+			)
+	public List<IdentityRow> findIdentitiesByEmail(@Param("email") String email);
+	
+	@Modifying
+	@Query(value = "UPDATE journal_users SET password = :password WHERE id = :id", nativeQuery = true)
+	public int updatePassword(@Param("id") String id, @Param("password") String password);
+	
+	@Modifying
+	@Query(value = "UPDATE journal_users SET show_emotion = NOT show_emotion WHERE id = :id", nativeQuery = true)
+	public int toggleShowEmotion(@Param("id") String id);
+	
+	@Query(value = "SELECT show_emotion FROM journal_users WHERE id = :id", nativeQuery = true)
+	public Optional<Boolean> findShowEmotion(@Param("id") String id);
+	
+	@Modifying
+	@Query(value = "UPDATE journal_users SET archived = true WHERE id = :id", nativeQuery = true)
+	public int archiveById(@Param("id") String id);
+	
+	@Modifying
+	@Query(value = "UPDATE journal_users SET archived = true WHERE email = :email", nativeQuery = true)
+	public int archiveByEmail(@Param("email") String email);
+	
 }
@@ -50,16 +50,25 @@ public interface LinkRequestRepository extends JpaRepository<LinkRequest, String
 	public List<LinkRequest> findAllByJournalUserId(@Param("id") String id);
 
 
-	@Query("""
-			    SELECT (COUNT(lr) > 0)
-			    FROM LinkRequest lr
-			    WHERE lr.counsellorUser.id = :counsellorId
-			      AND lr.journalUser.id = :journalUserId
-			      AND lr.status = :status
-			""")
-	public boolean existsPending(@Param("counsellorId") String counsellorId,
-			@Param("journalUserId") String journalUserId,
-			@Param("status") LinkRequest.Status status);
+	// What stands between this pair and a new request, in one statement on two indexes:
+	// LINKED if already a client, PENDING if a request is open, else NONE
+	public static final int LINK_NONE = 0;
+	public static final int LINK_PENDING = 1;
+	public static final int LINK_LINKED = 2;
+
+	@Query(
+			value =
+			"SELECT CASE " +
+					"  WHEN EXISTS (SELECT 1 FROM counsellor_client cc " +
+					"               WHERE cc.counsellor_id = :counsellorId AND cc.client_id = :journalUserId) THEN 2 " +
+					"  WHEN EXISTS (SELECT 1 FROM link_request lr " +
+					"               WHERE lr.counsellor_user_id = :counsellorId AND lr.journal_user_id = :journalUserId " +
+					"                 AND lr.status = 0) THEN 1 " +
+					"  ELSE 0 END",
+					nativeQuery = true
+			)
+	public int linkState(@Param("counsellorId") String counsellorId,
+			@Param("journalUserId") String journalUserId);
 
 	@Query("""
 			SELECT lr
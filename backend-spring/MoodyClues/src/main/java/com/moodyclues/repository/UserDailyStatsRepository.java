@@ -0,0 +1,170 @@
+package com.moodyclues.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.moodyclues.model.UserDailyStats;
+import com.moodyclues.model.UserDailyStatsId;
+import com.moodyclues.projection.ClientJournalDailyAgg;
+import com.moodyclues.projection.HabitsDayFlat;
+import com.moodyclues.projection.JournalDailyAgg;
+
+public interface UserDailyStatsRepository extends JpaRepository<UserDailyStats, UserDailyStatsId> {
+
+	// WRITE SIDE (deltas, negative when an entry is archived)
+
+	@Modifying
+	@Query(
+			value =
+			"INSERT INTO user_daily_stats " +
+					"  (user_id, day, mood_sum, mood_count, habits_count, sleep_sum, water_sum, work_hours_sum) " +
+					"VALUES (:userId, :day, :moodSum, :moodCount, 0, 0, 0, 0) " +
+					"ON DUPLICATE KEY UPDATE " +
+					"  mood_sum   = mood_sum   + VALUES(mood_sum), " +
+					"  mood_count = mood_count + VALUES(mood_count)",
+					nativeQuery = true
+			)
+	public int addJournal(
+			@Param("userId")    String userId,
+			@Param("day")       LocalDate day,
+			@Param("moodSum")   double moodSum,
+			@Param("moodCount") int moodCount
+			);
+
+	@Modifying
+	@Query(
+			value =
+			"INSERT INTO user_daily_stats " +
+					"  (user_id, day, mood_sum, mood_count, habits_count, sleep_sum, water_sum, work_hours_sum) " +
+					"VALUES (:userId, :day, 0, 0, :habitsCount, :sleepSum, :waterSum, :workHoursSum) " +
+					"ON DUPLICATE KEY UPDATE " +
+					"  habits_count   = habits_count   + VALUES(habits_count), " +
+					"  sleep_sum      = sleep_sum      + VALUES(sleep_sum), " +
+					"  water_sum      = water_sum      + VALUES(water_sum), " +
+					"  work_hours_sum = work_hours_sum + VALUES(work_hours_sum)",
+					nativeQuery = true
+			)
+	public int addHabits(
+			@Param("userId")       String userId,
+			@Param("day")          LocalDate day,
+			@Param("habitsCount")  int habitsCount,
+			@Param("sleepSum")     double sleepSum,
+			@Param("waterSum")     double waterSum,
+			@Param("workHoursSum") double workHoursSum
+			);
+
+	// Entry-keyed variants: the day and old values are read from the entry row itself,
+	// so the caller never loads it. Call after the owner-scoped update in the entry
+	// repository has matched the row.
+
+	@Modifying
+	@Query(
+			value =
+			"UPDATE user_daily_stats s " +
+					"JOIN journal_entries e ON e.user_id = s.user_id AND DATE(e.created_at) = s.day " +
+					"SET s.mood_sum   = s.mood_sum - e.mood, " +
+					"    s.mood_count = s.mood_count - 1 " +
+					"WHERE e.id = :entryId",
+					nativeQuery = true
+			)
+	public int removeJournal(@Param("entryId") String entryId);
+
+	@Modifying
+	@Query(
+			value =
+			"UPDATE user_daily_stats s " +
+					"JOIN habits_entries h ON h.user_id = s.user_id AND DATE(h.created_at) = s.day " +
+					"SET s.habits_count   = s.habits_count   - 1, " +
+					"    s.sleep_sum      = s.sleep_sum      - h.sleep, " +
+					"    s.water_sum      = s.water_sum      - h.water, " +
+					"    s.work_hours_sum = s.work_hours_sum - h.work_hours " +
+					"WHERE h.id = :entryId",
+					nativeQuery = true
+			)
+	public int removeHabits(@Param("entryId") String entryId);
+
+	// Swaps the entry's current values for the new ones, before they are written to it
+	@Modifying
+	@Query(
+			value =
+			"UPDATE user_daily_stats s " +
+					"JOIN habits_entries h ON h.user_id = s.user_id AND DATE(h.created_at) = s.day " +
+					"SET s.sleep_sum      = s.sleep_sum      - h.sleep      + :sleep, " +
+					"    s.water_sum      = s.water_sum      - h.water      + :water, " +
+					"    s.work_hours_sum = s.work_hours_sum - h.work_hours + :workHours " +
+					"WHERE h.id = :entryId",
+					nativeQuery = true
+			)
+	public int replaceHabits(
+			@Param("entryId")   String entryId,
+			@Param("sleep")     double sleep,
+			@Param("water")     double water,
+			@Param("workHours") double workHours
+			);
+
+
+	// FOR DASHBOARD
+
+	@Query(
+			value =
+			"SELECT s.day                     AS day, " +
+					"       s.mood_sum / s.mood_count AS avgMood, " +
+					"       s.mood_count              AS entries " +
+					"FROM user_daily_stats s " +
+					"WHERE s.user_id = :userId " +
+					"  AND s.day BETWEEN :from AND :to " +
+					"  AND s.mood_count > 0 " +
+					"ORDER BY s.day",
+					nativeQuery = true
+			)
+	public List<JournalDailyAgg> findJournalDailyBetween(
+			@Param("userId") String userId,
+			@Param("from")   LocalDate from,
+			@Param("to")     LocalDate to
+			);
+
+	// Whole caseload in one query, for the counsellor dashboard
+	@Query(
+			value =
+			"SELECT s.user_id                 AS userId, " +
+					"       s.day                     AS day, " +
+					"       s.mood_sum / s.mood_count AS avgMood, " +
+					"       s.mood_count              AS entries " +
+					"FROM user_daily_stats s " +
+					"WHERE s.user_id IN (:userIds) " +
+					"  AND s.day BETWEEN :from AND :to " +
+					"  AND s.mood_count > 0 " +
+					"ORDER BY s.user_id, s.day",
+					nativeQuery = true
+			)
+	public List<ClientJournalDailyAgg> findJournalDailyBetweenForUsers(
+			@Param("userIds") List<String> userIds,
+			@Param("from")    LocalDate from,
+			@Param("to")      LocalDate to
+			);
+
+	@Query(
+			value =
+			"SELECT s.day                              AS day, " +
+					"       s.sleep_sum      / s.habits_count AS sleep, " +
+					"       s.water_sum      / s.habits_count AS water, " +
+					"       s.work_hours_sum / s.habits_count AS workHours " +
+					"FROM user_daily_stats s " +
+					"WHERE s.user_id = :userId " +
+					"  AND s.day BETWEEN :from AND :to " +
+					"  AND s.habits_count > 0 " +
+					"ORDER BY s.day",
+					nativeQuery = true
+			)
+	public List<HabitsDayFlat> findHabitsDailyBetween(
+			@Param("userId") String userId,
+			@Param("from")   LocalDate from,
+			@Param("to")     LocalDate to
+			);
+
+}
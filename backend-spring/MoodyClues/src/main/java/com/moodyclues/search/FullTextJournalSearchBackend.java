@@ -0,0 +1,43 @@
+package com.moodyclues.search;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.moodyclues.projection.JournalSearchRow;
+import com.moodyclues.repository.JournalEntryRepository;
+
+// MySQL FULLTEXT (see V10). Every term must match, as a prefix, in the title or the text.
+@Component
+@ConditionalOnProperty(name = "moodyclues.search.backend", havingValue = "fulltext", matchIfMissing = true)
+public class FullTextJournalSearchBackend implements JournalSearchBackend {
+
+	// innodb_ft_min_token_size, shorter words are not in the index
+	private static final int MIN_TOKEN_SIZE = 3;
+	
+	@Autowired
+	JournalEntryRepository jentryRepo;
+	
+	@Override
+	public List<JournalSearchRow> search(String userId, List<String> terms, int limit, int offset) {
+
+		List<String> indexed = terms.stream()
+				.filter(t -> t.length() >= MIN_TOKEN_SIZE)
+				.collect(Collectors.toList());
+		
+		// Nothing the index can answer, e.g. "ok"
+		if (indexed.isEmpty()) {
+			return jentryRepo.searchLike(userId, SearchTerms.likePattern(terms), limit, offset);
+		}
+		
+		String booleanQuery = indexed.stream()
+				.map(t -> "+" + t + "*")
+				.collect(Collectors.joining(" "));
+		
+		return jentryRepo.searchFullText(userId, booleanQuery, limit, offset);
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.moodyclues.search;
+
+import java.util.List;
+
+import com.moodyclues.projection.JournalSearchRow;
+
+// Finds a user's non-archived journal entries matching the given terms, best match first.
+// Picked with moodyclues.search.backend (fulltext or like).
+public interface JournalSearchBackend {
+
+	public List<JournalSearchRow> search(String userId, List<String> terms, int limit, int offset);
+	
+}
@@ -0,0 +1,25 @@
+package com.moodyclues.search;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.moodyclues.projection.JournalSearchRow;
+import com.moodyclues.repository.JournalEntryRepository;
+
+// Plain LIKE scan over the user's entries, for databases without the FULLTEXT index
+@Component
+@ConditionalOnProperty(name = "moodyclues.search.backend", havingValue = "like")
+public class LikeJournalSearchBackend implements JournalSearchBackend {
+
+	@Autowired
+	JournalEntryRepository jentryRepo;
+	
+	@Override
+	public List<JournalSearchRow> search(String userId, List<String> terms, int limit, int offset) {
+		return jentryRepo.searchLike(userId, SearchTerms.likePattern(terms), limit, offset);
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.moodyclues.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.web.util.HtmlUtils;
+
+public final class SearchTerms {
+
+	private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+	
+	private static final int MAX_TERMS = 8;
+	
+	private SearchTerms() {
+	}
+	
+	// Lowercased words of the query. Punctuation, including FULLTEXT operators, is dropped.
+	public static List<String> parse(String query) {
+		List<String> terms = new ArrayList<>();
+		if (query == null) {
+			return terms;
+		}
+		
+		Matcher m = WORD.matcher(query.toLowerCase(Locale.ROOT));
+		while (m.find() && terms.size() < MAX_TERMS) {
+			if (!terms.contains(m.group())) {
+				terms.add(m.group());
+			}
+		}
+		return terms;
+	}
+	
+	// The whole phrase as typed, e.g. "%work stress%"
+	public static String likePattern(List<String> terms) {
+		return "%" + String.join(" ", terms) + "%";
+	}
+	
+	// HTML-escaped excerpt of text around the first hit, with every term wrapped in <mark>
+	public static String highlight(String text, List<String> terms, int maxLength) {
+		if (text == null || text.isEmpty()) {
+			return text;
+		}
+		if (terms.isEmpty()) {
+			return HtmlUtils.htmlEscape(text);
+		}
+		
+		Pattern hits = Pattern.compile(terms.stream()
+				.map(Pattern::quote)
+				.collect(Collectors.joining("|")), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+		
+		int start = 0;
+		int end = text.length();
+		if (text.length() > maxLength) {
+			Matcher first = hits.matcher(text);
+			int hit = first.find() ? first.start() : 0;
+			start = Math.max(0, Math.min(hit - maxLength / 3, text.length() - maxLength));
+			end = start + maxLength;
+		}
+		String window = text.substring(start, end);
+		
+		StringBuilder out = new StringBuilder();
+		if (start > 0) {
+			out.append("…");
+		}
+		Matcher m = hits.matcher(window);
+		int last = 0;
+		while (m.find()) {
+			out.append(HtmlUtils.htmlEscape(window.substring(last, m.start())));
+			out.append("<mark>").append(HtmlUtils.htmlEscape(m.group())).append("</mark>");
+			last = m.end();
+		}
+		out.append(HtmlUtils.htmlEscape(window.substring(last)));
+		if (end < text.length()) {
+			out.append("…");
+		}
+		return out.toString();
+	}
+	
+}
@@ -0,0 +1,14 @@
+package com.moodyclues.security;
+
+// Result of a successful login, everything the login routes put in the session
+public record AuthenticatedUser(String id, Role role, boolean showEmotion) {
+
+	public enum Role {
+		JOURNAL, COUNSELLOR;
+
+		public String authority() {
+			return "ROLE_" + name();
+		}
+	}
+
+}
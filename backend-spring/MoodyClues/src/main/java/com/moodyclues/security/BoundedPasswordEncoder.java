@@ -0,0 +1,135 @@
+package com.moodyclues.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Runs BCrypt on its own small pool so a burst of logins cannot take every request
+// thread. When the pool and its queue are full, or a hash waits longer than maxWait,
+// the caller gets a 503 instead of queueing behind everyone else.
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+	private final BCryptPasswordEncoder bcrypt;
+
+	private final int strength;
+
+	private final ThreadPoolExecutor pool;
+
+	private final Duration maxWait;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	private final Counter rejected;
+
+	public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, Duration maxWait,
+			MeterRegistry registry) {
+
+		this.bcrypt = new BCryptPasswordEncoder(strength);
+		this.strength = strength;
+		this.maxWait = maxWait;
+
+		AtomicInteger counter = new AtomicInteger();
+		this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+
+		this.encodeTimer = Timer.builder("moodyclues.password.hash")
+				.tag("op", "encode")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(registry);
+		this.matchesTimer = Timer.builder("moodyclues.password.hash")
+				.tag("op", "matches")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(registry);
+		this.rejected = Counter.builder("moodyclues.password.rejected").register(registry);
+		Gauge.builder("moodyclues.password.queue.depth", pool, p -> p.getQueue().size()).register(registry);
+		Gauge.builder("moodyclues.password.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> encodeTimer.recordCallable(() -> bcrypt.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> matchesTimer.recordCallable(() -> bcrypt.matches(rawPassword, encodedPassword)));
+	}
+
+	// True when the hash was made with another cost than the configured one, so the
+	// caller can store a fresh hash after a successful login
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if (encodedPassword == null) {
+			return false;
+		}
+		Matcher m = BCRYPT_COST.matcher(encodedPassword);
+		return m.find() && Integer.parseInt(m.group(1)) != strength;
+	}
+
+	private <T> T run(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = pool.submit(task);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw busy();
+		}
+
+		try {
+			return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			rejected.increment();
+			throw busy();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw busy();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private static ResponseStatusException busy() {
+		return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests, try again shortly");
+	}
+
+	@Override
+	public void destroy() {
+		pool.shutdownNow();
+	}
+
+}
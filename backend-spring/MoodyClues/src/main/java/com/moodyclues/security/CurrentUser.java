@@ -0,0 +1,23 @@
+package com.moodyclues.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Id of the signed-in user for the web routes, in either auth mode: the session
+// holds the SecurityContext saved at login, the token filter builds one per request.
+// Null when the request is anonymous.
+public final class CurrentUser {
+
+	private CurrentUser() {
+	}
+
+	public static String id() {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		return auth.getName();
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.moodyclues.security;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+// What the login routes do once the password checked out
+@Component
+public class LoginSupport {
+
+	@Autowired
+	TokenService tokenService;
+
+	@Value("${moodyclues.auth.mode:session}")
+	String mode;
+
+	public boolean isTokenMode() {
+		return "token".equalsIgnoreCase(mode);
+	}
+
+	// Session mode: stores the SecurityContext and the usual attributes in a new
+	// session and returns null. Token mode: returns a token, no session is created.
+	public String signIn(AuthenticatedUser user, HttpServletRequest request) {
+
+		if (isTokenMode()) {
+			return tokenService.issue(user);
+		}
+
+		var authorities = List.of(new SimpleGrantedAuthority(user.role().authority()));
+		var auth = new UsernamePasswordAuthenticationToken(user.id(), null, authorities);
+
+		SecurityContext context = SecurityContextHolder.createEmptyContext();
+		context.setAuthentication(auth);
+		SecurityContextHolder.setContext(context);
+
+		HttpSession session = request.getSession();
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		session.setAttribute("id", user.id());
+		if (user.role() == AuthenticatedUser.Role.JOURNAL) {
+			session.setAttribute("showEmotion", user.showEmotion());
+		}
+		return null;
+	}
+
+}
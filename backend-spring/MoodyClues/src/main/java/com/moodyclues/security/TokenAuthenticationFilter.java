@@ -0,0 +1,64 @@
+package com.moodyclues.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.moodyclues.security.TokenService.Claims;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Token mode only (see SecurityConfig). Turns "Authorization: Bearer <token>" into the
+// request's Authentication, with the user id as principal name. No database or
+// session is touched. Requests without the header go on anonymous, as before.
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+	private static final String PREFIX = "Bearer ";
+
+	private final TokenService tokenService;
+
+	public TokenAuthenticationFilter(TokenService tokenService) {
+		this.tokenService = tokenService;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (header == null || !header.startsWith(PREFIX)) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		Optional<Claims> claims = tokenService.verify(header.substring(PREFIX.length()).trim());
+		if (claims.isEmpty()) {
+			response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired token");
+			return;
+		}
+
+		var auth = new UsernamePasswordAuthenticationToken(claims.get().userId(), null,
+				List.of(new SimpleGrantedAuthority(claims.get().role().authority())));
+		SecurityContext context = SecurityContextHolder.createEmptyContext();
+		context.setAuthentication(auth);
+		SecurityContextHolder.setContext(context);
+
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.moodyclues.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.moodyclues.security.AuthenticatedUser.Role;
+
+// Compact signed tokens for moodyclues.auth.mode=token:
+//   base64url("<userId>|<role>|<expiresAtEpochSeconds>") + "." + base64url(HMAC-SHA256)
+// Verifying needs only the shared secret, so any node can accept a token any other
+// node issued. Nothing is stored server-side; a token stays valid until it expires.
+@Component
+public class TokenService {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	public record Claims(String userId, Role role, long expiresAt) {
+	}
+
+	private final byte[] secret;
+
+	private final Duration ttl;
+
+	private final Clock clock;
+
+	public TokenService(
+			@Value("${moodyclues.auth.token-secret:}") String secret,
+			@Value("${moodyclues.auth.token-ttl:12h}") Duration ttl) {
+		this.secret = secret.getBytes(StandardCharsets.UTF_8);
+		this.ttl = ttl;
+		this.clock = Clock.systemUTC();
+	}
+
+	public boolean isConfigured() {
+		return secret.length >= 32;
+	}
+
+	public String issue(AuthenticatedUser user) {
+		long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+		String payload = ENCODER.encodeToString(
+				(user.id() + "|" + user.role().name() + "|" + expiresAt).getBytes(StandardCharsets.UTF_8));
+		return payload + "." + ENCODER.encodeToString(sign(payload));
+	}
+
+	// Empty for anything malformed, forged or expired
+	public Optional<Claims> verify(String token) {
+		if (token == null) {
+			return Optional.empty();
+		}
+		int dot = token.indexOf('.');
+		if (dot <= 0 || dot != token.lastIndexOf('.')) {
+			return Optional.empty();
+		}
+
+		try {
+			String payload = token.substring(0, dot);
+			byte[] signature = DECODER.decode(token.substring(dot + 1));
+			if (!MessageDigest.isEqual(sign(payload), signature)) {
+				return Optional.empty();
+			}
+
+			String[] parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\\|");
+			if (parts.length != 3) {
+				return Optional.empty();
+			}
+			long expiresAt = Long.parseLong(parts[2]);
+			if (clock.instant().getEpochSecond() >= expiresAt) {
+				return Optional.empty();
+			}
+			return Optional.of(new Claims(parts[0], Role.valueOf(parts[1]), expiresAt));
+		} catch (IllegalArgumentException e) {
+			// Bad base64, number or role
+			return Optional.empty();
+		}
+	}
+
+	private byte[] sign(String payload) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(new SecretKeySpec(secret, ALGORITHM));
+			return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.moodyclues.service;
+
+import java.util.Optional;
+
+import com.moodyclues.security.AuthenticatedUser;
+import com.moodyclues.security.AuthenticatedUser.Role;
+
+public interface AuthenticationService {
+
+	// Empty when there is no such user with that role or the password is wrong
+	public Optional<AuthenticatedUser> authenticate(String email, String password, Role role);
+	
+}
@@ -2,7 +2,7 @@ package com.moodyclues.service;
 
 import java.util.List;
 
-import com.moodyclues.dto.LoginRequestDto;
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.dto.RegisterRequestDto;
 import com.moodyclues.model.CounsellorUser;
 import com.moodyclues.model.HabitsEntry;
@@ -15,10 +15,6 @@ public interface CounsellorService {
 
 	public CounsellorUser findCounsellorByEmail(String email);
 
-	public boolean loginAttempt(LoginRequestDto request);
-
-	public boolean loginAttempt(String email, String passwordInput);
-
 	public void linkRequest(String email, String senderId);
 
 	public void registerCounsellor(RegisterRequestDto request);
@@ -29,6 +25,10 @@ public interface CounsellorService {
 	
 	public List<HabitsEntry> listClientHabitsEntries(String counsellorId, String journalUserId);
 	
+	public EntryPageDto<JournalEntry> listClientJournalEntriesPage(String counsellorId, String journalUserId, String cursor, Integer size);
+	
+	public EntryPageDto<HabitsEntry> listClientHabitsEntriesPage(String counsellorId, String journalUserId, String cursor, Integer size);
+	
 	public JournalEntry getJournalEntry(String counsellorId, String journalUserId, String entryId);
 	
 	public HabitsEntry getHabitsEntry(String counsellorId, String journalUserId, String entryId);
@@ -2,9 +2,11 @@ package com.moodyclues.service;
 
 import java.util.List;
 
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.dto.HabitsEntryRequestDto;
 import com.moodyclues.dto.HabitsEntryUpdateRequestDto;
 import com.moodyclues.dto.JournalEntryRequestDto;
+import com.moodyclues.dto.JournalSearchResultDto;
 import com.moodyclues.model.HabitsEntry;
 import com.moodyclues.model.JournalEntry;
 
@@ -21,13 +23,18 @@ public interface EntryService {
 	public List<HabitsEntry> getAllHabitsEntriesByUserId(String userId);
 	
 	public HabitsEntry getHabitsEntryById(String entryId);
+	
+	public EntryPageDto<JournalEntry> getJournalEntriesPage(String userId, String cursor, Integer size);
+	
+	public EntryPageDto<HabitsEntry> getHabitsEntriesPage(String userId, String cursor, Integer size);
 		
-	public void updateHabitsEntry(HabitsEntryUpdateRequestDto request, String entryId);
+	// False when the entry is not found, already archived or not the user's
+	public boolean updateHabitsEntry(String userId, String entryId, HabitsEntryUpdateRequestDto request);
 	
-	public void archiveJournalEntry(String entryId);
+	public boolean archiveJournalEntry(String userId, String entryId);
 	
-	public void archiveHabitsEntry(String entryId);
+	public boolean archiveHabitsEntry(String userId, String entryId);
 	
-	public List<JournalEntry> searchJournalEntriesByTitle(String userId, String query);
+	public JournalSearchResultDto searchJournalEntries(String userId, String query, Integer page, Integer size);
 
 }
@@ -0,0 +1,25 @@
+package com.moodyclues.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+	public enum Format {
+		NDJSON("application/x-ndjson", "ndjson"),
+		CSV("text/csv", "csv");
+
+		public final String contentType;
+		public final String extension;
+
+		Format(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+	}
+
+	// Writes all of the user's journal entries, then all habits entries, oldest first.
+	// Rows are streamed from the database, memory use does not grow with history length
+	public void exportEntries(String userId, Format format, OutputStream out) throws IOException;
+	
+}
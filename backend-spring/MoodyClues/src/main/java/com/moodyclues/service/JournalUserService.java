@@ -1,6 +1,5 @@
 package com.moodyclues.service;
 
-import com.moodyclues.dto.LoginRequestDto;
 import com.moodyclues.dto.RegisterRequestDto;
 import com.moodyclues.model.JournalUser;
 
@@ -10,10 +9,6 @@ public interface JournalUserService {
 	
 	public JournalUser findJournalUserByEmail(String email);
 	
-	public boolean loginAttempt(LoginRequestDto request);
-	
-	public boolean loginAttempt(String email, String passwordInput);
-	
 	public void registerUser(RegisterRequestDto request);
 
 	// public User updateUser(int userId, UpdateUserRequest request);
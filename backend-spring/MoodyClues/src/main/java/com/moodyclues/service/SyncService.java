@@ -0,0 +1,13 @@
+package com.moodyclues.service;
+
+import java.util.List;
+
+import com.moodyclues.dto.SyncRequestDto;
+import com.moodyclues.dto.SyncResultDto;
+
+public interface SyncService {
+
+	// One result per item, in request order
+	public List<SyncResultDto> syncEntries(SyncRequestDto request);
+	
+}
@@ -0,0 +1,70 @@
+package com.moodyclues.serviceimpl;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.moodyclues.projection.IdentityRow;
+import com.moodyclues.repository.CounsellorRepository;
+import com.moodyclues.repository.JournalUserRepository;
+import com.moodyclues.security.AuthenticatedUser;
+import com.moodyclues.security.AuthenticatedUser.Role;
+import com.moodyclues.service.AuthenticationService;
+
+// One query per login: the identity row carries the id, role and hash, so nothing
+// else is loaded. No entity is read, the rare rehash is a single UPDATE.
+// Not transactional as a whole: BCrypt (and the wait for its bounded pool) runs
+// between the lookup and the rehash with no pooled connection held.
+@Service
+public class AuthenticationServiceImpl implements AuthenticationService {
+
+	@Autowired
+	JournalUserRepository juserRepo;
+	
+	@Autowired
+	CounsellorRepository cRepo;
+	
+	@Autowired
+	PasswordEncoder passwordEncoder;
+	
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Override
+	public Optional<AuthenticatedUser> authenticate(String email, String password, Role role) {
+		
+		if (email == null || password == null) {
+			return Optional.empty();
+		}
+		
+		// Its own short transaction, so also on the primary when a replica is configured
+		IdentityRow identity = transactionTemplate.execute(status -> juserRepo.findIdentitiesByEmail(email).stream()
+				.filter(row -> role.name().equals(row.getRole()))
+				.findFirst()
+				.orElse(null));
+		
+		if (identity == null || identity.getPassword() == null
+				|| !passwordEncoder.matches(password, identity.getPassword())) {
+			return Optional.empty();
+		}
+		
+		// The bcrypt cost was changed since this hash was made
+		if (passwordEncoder.upgradeEncoding(identity.getPassword())) {
+			String rehashed = passwordEncoder.encode(password);
+			transactionTemplate.executeWithoutResult(status -> {
+				if (role == Role.JOURNAL) {
+					juserRepo.updatePassword(identity.getId(), rehashed);
+				} else {
+					cRepo.updatePassword(identity.getId(), rehashed);
+				}
+			});
+		}
+		
+		boolean showEmotion = Boolean.TRUE.equals(identity.getShowEmotion());
+		return Optional.of(new AuthenticatedUser(identity.getId(), role, showEmotion));
+	}
+
+}
@@ -1,31 +1,55 @@
 package com.moodyclues.serviceimpl;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.moodyclues.model.JournalUser;
 import com.moodyclues.model.LinkRequest;
-import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.projection.ClientEmotionCount;
+import com.moodyclues.projection.ClientJournalDailyAgg;
+import com.moodyclues.repository.EmotionDailyCountRepository;
 import com.moodyclues.repository.LinkRequestRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
 import com.moodyclues.service.CounsellorDashboardService;
 
 @Service
+@Transactional(readOnly = true)
 public class CounsellorDashboardServiceImpl implements CounsellorDashboardService {
 	  
 	@Autowired
-	JournalEntryRepository journalEntryRepo;
+	UserDailyStatsRepository statsRepo;
 	  
 	@Autowired
 	LinkRequestRepository linkRequestRepo;
 
+	@Autowired
+	EmotionDailyCountRepository emotionCountRepo;
+
+	@Autowired
+	@Qualifier("counsellorDashboardExecutor")
+	ExecutorService dashboardExecutor;
+
+	@Autowired
+	PlatformTransactionManager txManager;
+
+	// batched | parallel | sequential
+	@Value("${moodyclues.counsellor-dashboard.mode:batched}")
+	String mode;
+
 
 	@Override
 	public Map<String, Object> getCounsellorDashboardPayload(String counsellorId, Integer days, LocalDate from,
@@ -37,9 +61,6 @@ public class CounsellorDashboardServiceImpl implements CounsellorDashboardServic
 	        ? from
 	        : today.minusDays((days == null ? 7 : Math.max(1, days)) - 1);
 
-	    LocalDateTime startTs = startDate.atStartOfDay();
-	    LocalDateTime endTs   = today.plusDays(1).atStartOfDay().minusNanos(1);
-
 	    List<JournalUser> clients = linkRequestRepo.findApprovedClients(
 	    		counsellorId, LinkRequest.Status.ACCEPTED);
 
@@ -52,16 +73,11 @@ public class CounsellorDashboardServiceImpl implements CounsellorDashboardServic
 	        })
 	        .collect(Collectors.toList());
 
-	    Map<String, Object> seriesByClient = new LinkedHashMap<>();
-	    for (JournalUser u : clients) {
-	      var jd = journalEntryRepo.findDailyAggBetween(u.getId(), startTs, endTs);
-	      var ec = journalEntryRepo.countEmotionsBetween(u.getId(), startTs, endTs);
-
-	      Map<String, Object> perClient = new LinkedHashMap<>();
-	      perClient.put("journalDaily", jd);
-	      perClient.put("emotionCounts", ec);   
-	      seriesByClient.put(u.getId(), perClient);
-	    }
+	    Map<String, Object> seriesByClient = switch (mode) {
+	      case "parallel"   -> buildSeriesByClientParallel(clients, startDate, today);
+	      case "sequential" -> buildSeriesByClientSequential(clients, startDate, today);
+	      default           -> buildSeriesByClient(clients, startDate, today);
+	    };
 
 	    Map<String,Object> window = new LinkedHashMap<>();
 	    window.put("from", startDate);
@@ -76,6 +92,80 @@ public class CounsellorDashboardServiceImpl implements CounsellorDashboardServic
 		
 	}
 
-	
+	// Two queries for the whole caseload, then split the rows per client
+	private Map<String, Object> buildSeriesByClient(List<JournalUser> clients, LocalDate startDate,
+			LocalDate today) {
+
+	    Map<String, Object> seriesByClient = new LinkedHashMap<>();
+	    if (clients.isEmpty()) {
+	      return seriesByClient;
+	    }
+
+	    List<String> clientIds = clients.stream()
+	        .map(JournalUser::getId)
+	        .distinct()
+	        .collect(Collectors.toList());
+
+	    // Both series from the rollups, which leave archived entries out like the user dashboard
+	    Map<String, List<ClientJournalDailyAgg>> dailyByClient = statsRepo
+	        .findJournalDailyBetweenForUsers(clientIds, startDate, today).stream()
+	        .collect(Collectors.groupingBy(ClientJournalDailyAgg::getUserId));
+
+	    Map<String, List<ClientEmotionCount>> emotionsByClient = emotionCountRepo
+	        .sumBetweenForUsers(clientIds, startDate, today).stream()
+	        .collect(Collectors.groupingBy(ClientEmotionCount::getUserId));
+
+	    for (JournalUser u : clients) {
+	      Map<String, Object> perClient = new LinkedHashMap<>();
+	      perClient.put("journalDaily", dailyByClient.getOrDefault(u.getId(), List.of()));
+	      perClient.put("emotionCounts", emotionsByClient.getOrDefault(u.getId(), List.of()));
+	      seriesByClient.put(u.getId(), perClient);
+	    }
+
+	    return seriesByClient;
+	}
+
+	// One task per client on the bounded dashboard pool, collected back in clients order
+	private Map<String, Object> buildSeriesByClientParallel(List<JournalUser> clients, LocalDate startDate,
+			LocalDate today) {
+
+	    // The pool threads are outside the request's transaction, each task opens its
+	    // own read-only one so it reads from the same pool
+	    TransactionTemplate readOnly = new TransactionTemplate(txManager);
+	    readOnly.setReadOnly(true);
+
+	    List<CompletableFuture<Map<String, Object>>> futures = clients.stream()
+	        .map(u -> CompletableFuture.supplyAsync(
+	            () -> readOnly.execute(status -> fetchClientSeries(u.getId(), startDate, today)), dashboardExecutor))
+	        .collect(Collectors.toList());
+
+	    Map<String, Object> seriesByClient = new LinkedHashMap<>();
+	    for (int i = 0; i < clients.size(); i++) {
+	      seriesByClient.put(clients.get(i).getId(), futures.get(i).join());
+	    }
+
+	    return seriesByClient;
+	}
+
+	private Map<String, Object> buildSeriesByClientSequential(List<JournalUser> clients, LocalDate startDate,
+			LocalDate today) {
+
+	    Map<String, Object> seriesByClient = new LinkedHashMap<>();
+	    for (JournalUser u : clients) {
+	      seriesByClient.put(u.getId(), fetchClientSeries(u.getId(), startDate, today));
+	    }
+
+	    return seriesByClient;
+	}
+
+	private Map<String, Object> fetchClientSeries(String clientId, LocalDate startDate, LocalDate today) {
+	    var jd = statsRepo.findJournalDailyBetween(clientId, startDate, today);
+	    var ec = emotionCountRepo.sumBetween(clientId, startDate, today);
+
+	    Map<String, Object> perClient = new LinkedHashMap<>();
+	    perClient.put("journalDaily", jd);
+	    perClient.put("emotionCounts", ec);
+	    return perClient;
+	}
 	
 }
@@ -5,12 +5,17 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import com.moodyclues.dto.LoginRequestDto;
+import com.moodyclues.cache.CounsellorLinkCache;
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.dto.RegisterRequestDto;
 import com.moodyclues.model.CounsellorUser;
 import com.moodyclues.model.HabitsEntry;
@@ -23,10 +28,10 @@ import com.moodyclues.repository.HabitsEntryRepository;
 import com.moodyclues.repository.JournalEntryRepository;
 import com.moodyclues.repository.LinkRequestRepository;
 import com.moodyclues.service.CounsellorService;
+import com.moodyclues.service.EntryService;
 import com.moodyclues.service.JournalUserService;
 
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 
 @Service
 @Transactional
@@ -47,9 +52,18 @@ public class CounsellorServiceImpl implements CounsellorService {
 	@Autowired
 	HabitsEntryRepository hRepo;
 	
+	@Autowired
+	EntryService entryService;
+	
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 	
+	@Autowired
+	private CounsellorLinkCache linkCache;
+	
+	@Value("${moodyclues.listing.max-unpaged:1000}")
+	int maxUnpaged;
+	
 	@Override
 	public CounsellorUser findCounsellorById(String id) {
 		CounsellorUser user = cRepo.findCounsellorById(id).orElseThrow(
@@ -67,34 +81,10 @@ public class CounsellorServiceImpl implements CounsellorService {
 		return user;
 	}
 
+	// BCrypt runs between the email check and the insert, each its own short
+	// statement, so no connection is held while hashing
 	@Override
-	public boolean loginAttempt(LoginRequestDto request) {
-		String email = request.getEmail();
-		String passwordInput = request.getPassword();
-		
-		CounsellorUser user = this.findCounsellorByEmail(email);
-
-		if (!passwordEncoder.matches(passwordInput, user.getPassword())) {
-			return false;
-		}
-		
-		
-		return true;
-	}
-
-	@Override
-	public boolean loginAttempt(String email, String passwordInput) {
-		
-		CounsellorUser user = this.findCounsellorByEmail(email);
-		
-		if (!passwordEncoder.matches(passwordInput, user.getPassword())) {
-			return false;
-		}
-		
-		return true;
-	}
-	
-	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public void registerCounsellor(RegisterRequestDto request) {
 
 		String email = request.getEmail();
@@ -137,23 +127,43 @@ public class CounsellorServiceImpl implements CounsellorService {
 	}
 
     @Override
+    @Transactional(readOnly = true)
     public List<JournalUser> listClients(String counsellorId) {
         return cRepo.findClients(counsellorId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<JournalEntry> listClientJournalEntries(String counsellorId, String journalUserId) {
         ensureLinked(counsellorId, journalUserId);
-        return jRepo.findVisibleByUserId(journalUserId);
+        return jRepo.findVisibleByUserId(journalUserId, PageRequest.of(0, maxUnpaged));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<HabitsEntry> listClientHabitsEntries(String counsellorId, String journalUserId) {
         ensureLinked(counsellorId, journalUserId);
-        return hRepo.findVisibleByUserId(journalUserId);
+        return hRepo.findVisibleByUserId(journalUserId, PageRequest.of(0, maxUnpaged));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EntryPageDto<JournalEntry> listClientJournalEntriesPage(String counsellorId, String journalUserId,
+                                                                   String cursor, Integer size) {
+        ensureLinked(counsellorId, journalUserId);
+        return entryService.getJournalEntriesPage(journalUserId, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EntryPageDto<HabitsEntry> listClientHabitsEntriesPage(String counsellorId, String journalUserId,
+                                                                 String cursor, Integer size) {
+        ensureLinked(counsellorId, journalUserId);
+        return entryService.getHabitsEntriesPage(journalUserId, cursor, size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public JournalEntry getJournalEntry(String counsellorId, String journalUserId, String entryId) {
         ensureLinked(counsellorId, journalUserId);
         return jRepo.findByIdAndUserId(entryId, journalUserId)
@@ -161,6 +171,7 @@ public class CounsellorServiceImpl implements CounsellorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public HabitsEntry getHabitsEntry(String counsellorId, String journalUserId, String entryId) {
         ensureLinked(counsellorId, journalUserId);
         return hRepo.findByIdAndUserId(entryId, journalUserId)
@@ -168,7 +179,7 @@ public class CounsellorServiceImpl implements CounsellorService {
     }
 
     private void ensureLinked(String counsellorId, String journalUserId) {
-        if (!cRepo.isLinkedTo(counsellorId, journalUserId)) {
+        if (!linkCache.isLinked(counsellorId, journalUserId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not linked to this user");
         }
     }	
@@ -1,7 +1,6 @@
 package com.moodyclues.serviceimpl;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -9,21 +8,27 @@ import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.moodyclues.cache.DashboardPayloadCache;
 import com.moodyclues.projection.HabitsDayFlat;
 import com.moodyclues.projection.JournalDailyAgg;
-import com.moodyclues.repository.HabitsEntryRepository;
-import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.repository.EmotionDailyCountRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
 import com.moodyclues.service.DashboardService;
 
 @Service
+@Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 
 	@Autowired
-	JournalEntryRepository journalEntryRepo;
+	UserDailyStatsRepository statsRepo;
 	
 	@Autowired
-	HabitsEntryRepository habitsEntryRepo;
+	EmotionDailyCountRepository emotionCountRepo;
+	
+	@Autowired
+	DashboardPayloadCache payloadCache;
 	
 	@Override
 	public Map<String, Object> getDashboardPayload(String userId, Integer days, LocalDate from, LocalDate to) {
@@ -34,12 +39,16 @@ public class DashboardServiceImpl implements DashboardService {
 	            ? from
 	            : today.minusDays((days == null ? 7 : Math.max(1, days)) - 1);
 
-	    LocalDateTime startTs = startDate.atStartOfDay();
-	    LocalDateTime endTs   = today.plusDays(1).atStartOfDay().minusNanos(1);
+	    // Keyed on the resolved window so ?days=7 and an explicit from/to share an entry
+	    return payloadCache.get(userId, startDate, today, () -> buildPayload(userId, startDate, today));
+	}
+
+	private Map<String, Object> buildPayload(String userId, LocalDate startDate, LocalDate today) {
 
-	    var journalDaily   = journalEntryRepo.findDailyAggBetween(userId, startTs, endTs);
-	    var habitsDays     = habitsEntryRepo.findDaysBetween(userId, startTs, endTs);
-	    var emotionCounts  = journalEntryRepo.countEmotionsBetween(userId, startTs, endTs);
+	    // One rollup row per day, rather than every entry in the window
+	    var journalDaily   = statsRepo.findJournalDailyBetween(userId, startDate, today);
+	    var habitsDays     = statsRepo.findHabitsDailyBetween(userId, startDate, today);
+	    var emotionCounts  = emotionCountRepo.sumBetween(userId, startDate, today);
 
 
 	    Double avgMoodSelected = journalDaily.stream()
@@ -1,25 +1,38 @@
 package com.moodyclues.serviceimpl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.moodyclues.cache.DashboardPayloadCache;
+import com.moodyclues.cache.EmotionCatalog;
+import com.moodyclues.datasource.ReadYourWrites;
+import com.moodyclues.dto.EntryCursor;
+import com.moodyclues.dto.EntryPageDto;
 import com.moodyclues.dto.HabitsEntryRequestDto;
 import com.moodyclues.dto.HabitsEntryUpdateRequestDto;
 import com.moodyclues.dto.JournalEntryRequestDto;
-import com.moodyclues.model.Emotion;
+import com.moodyclues.dto.JournalSearchHitDto;
+import com.moodyclues.dto.JournalSearchResultDto;
 import com.moodyclues.model.HabitsEntry;
 import com.moodyclues.model.JournalEntry;
-import com.moodyclues.model.JournalUser;
+import com.moodyclues.projection.JournalSearchRow;
+import com.moodyclues.repository.EmotionDailyCountRepository;
 import com.moodyclues.repository.EmotionRepository;
 import com.moodyclues.repository.HabitsEntryRepository;
 import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.repository.JournalUserRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
+import com.moodyclues.search.JournalSearchBackend;
+import com.moodyclues.search.SearchTerms;
 import com.moodyclues.service.EntryService;
-import com.moodyclues.service.JournalUserService;
-
-import jakarta.transaction.Transactional;
 
 @Service
 @Transactional
@@ -32,18 +45,49 @@ public class EntryServiceImpl implements EntryService {
 	HabitsEntryRepository hentryRepo;
 	
 	@Autowired
-	JournalUserService juserService;
+	EmotionRepository emoRepo;
 	
 	@Autowired
-	EmotionRepository emoRepo;
+	JournalUserRepository juserRepo;
+	
+	@Autowired
+	EmotionCatalog emotionCatalog;
+	
+	@Autowired
+	UserDailyStatsRepository statsRepo;
+	
+	@Autowired
+	EmotionDailyCountRepository emotionCountRepo;
+	
+	@Autowired
+	DashboardPayloadCache dashboardCache;
+	
+	@Autowired
+	ReadYourWrites readYourWrites;
+	
+	@Autowired
+	JournalSearchBackend searchBackend;
+	
+	private static final int SNIPPET_LENGTH = 160;
+	
+	@Value("${moodyclues.listing.page-size:20}")
+	int defaultPageSize;
+	
+	@Value("${moodyclues.listing.max-page-size:100}")
+	int maxPageSize;
+	
+	// Cap for the old /all routes, newest entries first
+	@Value("${moodyclues.listing.max-unpaged:1000}")
+	int maxUnpaged;
 
 	@Override
 	public void submitEntry(JournalEntryRequestDto request) {
 		
 		String userId = request.getUserId();
-		JournalUser user = juserService.findJournalUserById(userId);
 		
-		JournalEntry entry = new JournalEntry(user);
+		// Reference proxies only, the user and emotions are never loaded. An unknown
+		// user fails on the foreign key at insert.
+		JournalEntry entry = new JournalEntry(juserRepo.getReferenceById(userId));
 		entry.setCreatedAt(LocalDateTime.now());
 		entry.setLastSavedAt(LocalDateTime.now());
 		
@@ -53,34 +97,33 @@ public class EntryServiceImpl implements EntryService {
 		
 		List<String> emoStrings = request.getEmotions();
 		
-		List<Emotion> emoList = entry.getEmotions();
-		
-		if (emoStrings.size() == 2) {
-			Emotion firstEmo = emoRepo.findEmotionByLabel(emoStrings.get(0)).orElseThrow();
-			Emotion secondEmotion = emoRepo.findEmotionByLabel(emoStrings.get(1)).orElseThrow();
-			
-			emoList.add(firstEmo);
-			emoList.add(secondEmotion);
-			entry.setEmotions(emoList);
+		List<String> emotionIds = new ArrayList<>();
+		if (emoStrings.size() <= 2) {
+			for (String label : emoStrings) {
+				String emotionId = emotionCatalog.idFor(label);
+				emotionIds.add(emotionId);
+				entry.getEmotions().add(emoRepo.getReferenceById(emotionId));
+			}
 		}
 		
-		if (emoStrings.size() == 1) {
-			Emotion emo = emoRepo.findEmotionByLabel(emoStrings.get(0)).orElseThrow();
-			emoList.add(emo);
-			entry.setEmotions(emoList);
-
+		jentryRepo.save(entry);
+		
+		// The upserts below flush the entry and its entry_emotions rows as one JDBC batch
+		LocalDate day = entry.getCreatedAt().toLocalDate();
+		statsRepo.addJournal(userId, day, entry.getMood(), 1);
+		if (!emotionIds.isEmpty()) {
+			emotionCountRepo.addCounts(userId, day, emotionIds, 1);
 		}
 		
-		jentryRepo.save(entry);
+		dashboardCache.evictUser(userId);
+		readYourWrites.markWrite(userId);
 	}
 
 	@Override
 	public void submitHabits(HabitsEntryRequestDto request) {
 		
 		String userId = request.getUserId();
-		JournalUser user = juserService.findJournalUserById(userId);
-		
-		HabitsEntry entry = new HabitsEntry(user);
+		HabitsEntry entry = new HabitsEntry(juserRepo.getReferenceById(userId));
 		entry.setCreatedAt(LocalDateTime.now());
 		entry.setLastSavedAt(LocalDateTime.now());
 		
@@ -90,18 +133,26 @@ public class EntryServiceImpl implements EntryService {
 		
 		hentryRepo.save(entry);
 		
+		statsRepo.addHabits(userId, entry.getCreatedAt().toLocalDate(), 1,
+				entry.getSleep(), entry.getWater(), entry.getWorkHours());
+		
+		dashboardCache.evictUser(userId);
+		readYourWrites.markWrite(userId);
+		
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<JournalEntry> getAllJournalEntriesByUserId(String userId) {
 	
-		List<JournalEntry> jentries = jentryRepo.getAllJournalEntriesByUserId(userId);
+		List<JournalEntry> jentries = jentryRepo.getAllJournalEntriesByUserId(userId, PageRequest.of(0, maxUnpaged));
 		
 		return jentries;
 		
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public JournalEntry getJournalEntryById(String entryId) {
 
 		JournalEntry jentry = jentryRepo.getJournalEntryById(entryId);
@@ -110,14 +161,76 @@ public class EntryServiceImpl implements EntryService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<HabitsEntry> getAllHabitsEntriesByUserId(String userId) {
 
-		List<HabitsEntry> hentries = hentryRepo.getAllHabitsEntriesByUserId(userId);
+		List<HabitsEntry> hentries = hentryRepo.getAllHabitsEntriesByUserId(userId, PageRequest.of(0, maxUnpaged));
 		
 		return hentries;
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public EntryPageDto<JournalEntry> getJournalEntriesPage(String userId, String cursor, Integer size) {
+		
+		int pageSize = clampPageSize(size);
+		
+		// One extra row tells us whether there is a next page
+		PageRequest limit = PageRequest.of(0, pageSize + 1);
+		
+		List<JournalEntry> jentries;
+		if (cursor == null || cursor.isBlank()) {
+			jentries = jentryRepo.findFirstPage(userId, limit);
+		} else {
+			EntryCursor after = EntryCursor.decode(cursor);
+			jentries = jentryRepo.findPageAfter(userId, after.getCreatedAt(), after.getId(), limit);
+		}
+		
+		if (jentries.size() <= pageSize) {
+			return new EntryPageDto<>(jentries, null);
+		}
+		
+		List<JournalEntry> page = jentries.subList(0, pageSize);
+		JournalEntry last = page.get(pageSize - 1);
+		
+		return new EntryPageDto<>(page, new EntryCursor(last.getCreatedAt(), last.getId()).encode());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public EntryPageDto<HabitsEntry> getHabitsEntriesPage(String userId, String cursor, Integer size) {
+		
+		int pageSize = clampPageSize(size);
+		
+		PageRequest limit = PageRequest.of(0, pageSize + 1);
+		
+		List<HabitsEntry> hentries;
+		if (cursor == null || cursor.isBlank()) {
+			hentries = hentryRepo.findFirstPage(userId, limit);
+		} else {
+			EntryCursor after = EntryCursor.decode(cursor);
+			hentries = hentryRepo.findPageAfter(userId, after.getCreatedAt(), after.getId(), limit);
+		}
+		
+		if (hentries.size() <= pageSize) {
+			return new EntryPageDto<>(hentries, null);
+		}
+		
+		List<HabitsEntry> page = hentries.subList(0, pageSize);
+		HabitsEntry last = page.get(pageSize - 1);
+		
+		return new EntryPageDto<>(page, new EntryCursor(last.getCreatedAt(), last.getId()).encode());
+	}
+	
+	private int clampPageSize(Integer size) {
+		if (size == null || size < 1) {
+			return defaultPageSize;
+		}
+		return Math.min(size, maxPageSize);
+	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public HabitsEntry getHabitsEntryById(String entryId) {
 
 		HabitsEntry hentry = hentryRepo.getHabitsEntryById(entryId);
@@ -126,44 +239,83 @@ public class EntryServiceImpl implements EntryService {
 	}
 	
 	@Override
-	public void updateHabitsEntry(HabitsEntryUpdateRequestDto request, String entryId) {
+	public boolean updateHabitsEntry(String userId, String entryId, HabitsEntryUpdateRequestDto request) {
 
-		HabitsEntry hentry = hentryRepo.getHabitsEntryById(entryId);
+		// Owner check and row lock in one statement, the old values are still there for
+		// the rollup, which only takes the difference (the entry count is unchanged)
+		if (hentryRepo.touchOwned(entryId, userId, LocalDateTime.now()) == 0) {
+			return false;
+		}
 		
-		hentry.setSleep(request.getSleep());
-		hentry.setWater(request.getWater());
-		hentry.setWorkHours(request.getWorkHours());
-		hentry.setLastSavedAt(LocalDateTime.now());
+		statsRepo.replaceHabits(entryId, request.getSleep(), request.getWater(), request.getWorkHours());
+		hentryRepo.updateValues(entryId, request.getSleep(), request.getWater(), request.getWorkHours());
 		
+		dashboardCache.evictUser(userId);
+		readYourWrites.markWrite(userId);
+		
+		return true;
 	}
 
 	@Override
-	public void archiveJournalEntry(String entryId) {
+	public boolean archiveJournalEntry(String userId, String entryId) {
 
-		JournalEntry jentry = jentryRepo.getJournalEntryById(entryId);
+		if (jentryRepo.archiveOwned(entryId, userId) == 0) {
+			return false;
+		}
+		
+		statsRepo.removeJournal(entryId);
+		emotionCountRepo.removeEntry(entryId);
+		
+		dashboardCache.evictUser(userId);
+		readYourWrites.markWrite(userId);
 		
-		jentry.setArchived(true);
+		return true;
 	}
 
 	@Override
-	public void archiveHabitsEntry(String entryId) {
+	public boolean archiveHabitsEntry(String userId, String entryId) {
 
-		HabitsEntry hentry = hentryRepo.getHabitsEntryById(entryId);
+		if (hentryRepo.archiveOwned(entryId, userId) == 0) {
+			return false;
+		}
 		
-		hentry.setArchived(true);
+		statsRepo.removeHabits(entryId);
 		
+		dashboardCache.evictUser(userId);
+		readYourWrites.markWrite(userId);
+		
+		return true;
 	}
 
 	@Override
-	public List<JournalEntry> searchJournalEntriesByTitle(String userId, String query) {
+	@Transactional(readOnly = true)
+	public JournalSearchResultDto searchJournalEntries(String userId, String query, Integer page, Integer size) {
 
-		List<JournalEntry> jentries = jentryRepo.searchByTitle(userId,query);
+		int pageNo = (page == null || page < 0) ? 0 : page;
+		int pageSize = clampPageSize(size);
 		
-		return jentries;
+		List<String> terms = SearchTerms.parse(query);
+		if (terms.isEmpty()) {
+			return new JournalSearchResultDto(query, pageNo, pageSize, false, new ArrayList<>());
+		}
+		
+		// One extra row tells us whether there is a next page
+		List<JournalSearchRow> rows = searchBackend.search(userId, terms, pageSize + 1, pageNo * pageSize);
+		boolean hasMore = rows.size() > pageSize;
+		
+		List<JournalSearchHitDto> hits = new ArrayList<>();
+		for (JournalSearchRow row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+			JournalSearchHitDto hit = new JournalSearchHitDto();
+			hit.setId(row.getId());
+			hit.setCreatedAt(row.getCreatedAt());
+			hit.setMood(row.getMood());
+			hit.setScore(row.getScore() == null ? 0 : row.getScore());
+			hit.setTitleHighlight(SearchTerms.highlight(row.getEntryTitle(), terms, SNIPPET_LENGTH));
+			hit.setSnippet(SearchTerms.highlight(row.getEntryText(), terms, SNIPPET_LENGTH));
+			hits.add(hit);
+		}
+		
+		return new JournalSearchResultDto(query, pageNo, pageSize, hasMore, hits);
 	}
 
-
-
-	
-	
 }
@@ -0,0 +1,143 @@
+package com.moodyclues.serviceimpl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moodyclues.projection.HabitsExportRow;
+import com.moodyclues.projection.JournalExportRow;
+import com.moodyclues.repository.HabitsEntryRepository;
+import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.service.ExportService;
+
+import jakarta.transaction.Transactional;
+
+// The two streams run one after the other on the same connection: a streaming
+// result set has to be fully read and closed before the next query.
+@Service
+@Transactional
+public class ExportServiceImpl implements ExportService {
+
+	private static final String CSV_HEADER =
+			"type,id,created_at,last_saved_at,title,text,mood,emotions,sleep,water,work_hours";
+
+	@Autowired
+	JournalEntryRepository jentryRepo;
+
+	@Autowired
+	HabitsEntryRepository hentryRepo;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Override
+	public void exportEntries(String userId, Format format, OutputStream out) throws IOException {
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+
+		if (format == Format.CSV) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+
+		try {
+			try (Stream<JournalExportRow> rows = jentryRepo.streamForExport(userId)) {
+				rows.forEach(row -> writeJournal(writer, format, row));
+			}
+			try (Stream<HabitsExportRow> rows = hentryRepo.streamForExport(userId)) {
+				rows.forEach(row -> writeHabits(writer, format, row));
+			}
+		} catch (UncheckedIOException e) {
+			// Client went away mid-download
+			throw e.getCause();
+		}
+
+		writer.flush();
+	}
+
+	private void writeJournal(Writer writer, Format format, JournalExportRow row) {
+		List<String> emotions = row.getEmotions() == null ? List.of() : Arrays.asList(row.getEmotions().split("\\|"));
+
+		Map<String, Object> out = new LinkedHashMap<>();
+		out.put("type", "journal");
+		out.put("id", row.getId());
+		out.put("createdAt", row.getCreatedAt());
+		out.put("lastSavedAt", row.getLastSavedAt());
+		out.put("entryTitle", row.getEntryTitle());
+		out.put("entryText", row.getEntryText());
+		out.put("mood", row.getMood());
+		out.put("emotions", emotions);
+
+		if (format == Format.NDJSON) {
+			writeJson(writer, out);
+		} else {
+			writeCsv(writer, "journal", row.getId(), row.getCreatedAt(), row.getLastSavedAt(), row.getEntryTitle(),
+					row.getEntryText(), row.getMood(), String.join("|", emotions), null, null, null);
+		}
+	}
+
+	private void writeHabits(Writer writer, Format format, HabitsExportRow row) {
+		if (format == Format.NDJSON) {
+			Map<String, Object> out = new LinkedHashMap<>();
+			out.put("type", "habits");
+			out.put("id", row.getId());
+			out.put("createdAt", row.getCreatedAt());
+			out.put("lastSavedAt", row.getLastSavedAt());
+			out.put("sleep", row.getSleep());
+			out.put("water", row.getWater());
+			out.put("workHours", row.getWorkHours());
+			writeJson(writer, out);
+		} else {
+			writeCsv(writer, "habits", row.getId(), row.getCreatedAt(), row.getLastSavedAt(), null, null, null, null,
+					row.getSleep(), row.getWater(), row.getWorkHours());
+		}
+	}
+
+	private void writeJson(Writer writer, Map<String, Object> out) {
+		try {
+			writer.write(objectMapper.writeValueAsString(out));
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeCsv(Writer writer, Object... values) {
+		try {
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writer.write(csvField(values[i]));
+			}
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static String csvField(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String s = value.toString();
+		if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+			return s;
+		}
+		return '"' + s.replace("\"", "\"\"") + '"';
+	}
+
+}
@@ -7,7 +7,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import com.moodyclues.dto.LoginRequestDto;
 import com.moodyclues.dto.RegisterRequestDto;
 import com.moodyclues.model.JournalUser;
 import com.moodyclues.model.User;
@@ -46,40 +45,12 @@ public class JournalUserServiceImpl implements JournalUserService {
 		return user;
 	}
 
-	@Override
-	public boolean loginAttempt(LoginRequestDto request) {
-		
-		String email = request.getEmail();
-		String passwordInput = request.getPassword();
-		
-		JournalUser user = this.findJournalUserByEmail(email);
-
-		if (!passwordEncoder.matches(passwordInput, user.getPassword())) {
-			return false;
-		}
-		
-		
-		return true;
-	}
-
-	@Override
-	public boolean loginAttempt(String email, String passwordInput) {
-		
-		JournalUser user = this.findJournalUserByEmail(email);
-		
-		if (!passwordEncoder.matches(passwordInput, user.getPassword())) {
-			return false;
-		}
-		
-		return true;
-	}
-
 	@Override
 	public void deleteUser(String email, String password) {
 		
-		JournalUser user = this.findJournalUserByEmail(email);
-		
-		user.setArchived(true);
+		if (userRepo.archiveByEmail(email) == 0) {
+			throw new EntityNotFoundException("Customer with email " + email + " not found");
+		}
 
 	}
 
@@ -88,14 +59,17 @@ public class JournalUserServiceImpl implements JournalUserService {
 	@Override
 	public void deleteUser(String id) {
 		
-		JournalUser user = this.findJournalUserById(id);
-		
-		user.setArchived(true);
+		if (userRepo.archiveById(id) == 0) {
+			throw new EntityNotFoundException("Customer with id " + id + " not found");
+		}
 		
 	}
 
 	
+	// BCrypt runs between the email check and the insert, each its own short
+	// statement, so no connection is held while hashing
 	@Override
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
 	public void registerUser(RegisterRequestDto request) {
 
 		String email = request.getEmail();
@@ -118,23 +92,14 @@ public class JournalUserServiceImpl implements JournalUserService {
 	@Override
 	public String toggleEmotion(String userId) {
 
-		JournalUser user = this.findJournalUserById(userId);
-		
-		if (user.isShowEmotion()) {
-			user.setShowEmotion(false);
-			userRepo.save(user);
-			return "Emotions set to hidden.";
-
+		// Flipped in the database, the user and its collections are never loaded
+		if (userRepo.toggleShowEmotion(userId) == 0) {
+			throw new EntityNotFoundException("Customer with id " + userId + " not found");
 		}
 		
-		if (!(user.isShowEmotion())) {
-			user.setShowEmotion(true);
-			userRepo.save(user);
-			return "Emotions set to shown.";
-
-		}
+		boolean shown = userRepo.findShowEmotion(userId).orElse(false);
 		
-		return "Something went wrong.";
+		return shown ? "Emotions set to shown." : "Emotions set to hidden.";
 		
 	}
 
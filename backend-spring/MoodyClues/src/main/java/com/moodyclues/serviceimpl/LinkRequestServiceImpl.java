@@ -3,10 +3,12 @@ package com.moodyclues.serviceimpl;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.moodyclues.cache.CounsellorLinkCache;
 import com.moodyclues.model.CounsellorUser;
 import com.moodyclues.model.JournalUser;
 import com.moodyclues.model.LinkRequest;
@@ -32,7 +34,13 @@ public class LinkRequestServiceImpl implements LinkRequestService {
 	@Autowired
 	CounsellorRepository cRepo;
 	
+	@Autowired
+	CounsellorLinkCache linkCache;
+	
 
+	// Never touches counsellor.getClients(): the link/pending check is a single
+	// existence query, and the V15 unique key on pending pairs catches the race
+	// between that check and the insert.
 	@Override
 	public LinkRequest createNewRequest(String counsellorId, String userEmail) {
         CounsellorUser counsellor = cRepo.findById(counsellorId)
@@ -41,13 +49,11 @@ public class LinkRequestServiceImpl implements LinkRequestService {
             JournalUser journalUser = juserRepo.findJournalUserByEmail(userEmail)
                 .orElseThrow(() -> new EntityNotFoundException("Journal user not found"));
 
-
-            if (counsellor.getClients().contains(journalUser)) {
+            int state = linkRepo.linkState(counsellorId, journalUser.getId());
+            if (state == LinkRequestRepository.LINK_LINKED) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "Already linked");
             }
-            
-            if (linkRepo.existsPending (
-                    counsellorId, journalUser.getId(), Status.PENDING)) {
+            if (state == LinkRequestRepository.LINK_PENDING) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "Pending request exists");
             }
 
@@ -55,7 +61,12 @@ public class LinkRequestServiceImpl implements LinkRequestService {
             linkRequest.setCounsellorUser(counsellor);
             linkRequest.setJournalUser(journalUser);
             linkRequest.setStatus(Status.PENDING);
-            return linkRepo.save(linkRequest);
+            
+            try {
+                return linkRepo.saveAndFlush(linkRequest);
+            } catch (DataIntegrityViolationException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Pending request exists");
+            }
 	}
 
 	@Override
@@ -74,6 +85,7 @@ public class LinkRequestServiceImpl implements LinkRequestService {
                 JournalUser j = linkRequest.getJournalUser();
                 c.getClients().add(j);
                 j.getCounsellors().add(c);
+                linkCache.evictCounsellor(c.getId());
             } else {
             	linkRequest.setStatus(Status.DECLINED);
             }	
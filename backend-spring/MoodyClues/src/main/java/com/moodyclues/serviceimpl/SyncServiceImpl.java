@@ -0,0 +1,291 @@
+package com.moodyclues.serviceimpl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.moodyclues.cache.DashboardPayloadCache;
+import com.moodyclues.cache.EmotionCatalog;
+import com.moodyclues.datasource.ReadYourWrites;
+import com.moodyclues.dto.SyncEntryDto;
+import com.moodyclues.dto.SyncRequestDto;
+import com.moodyclues.dto.SyncResultDto;
+import com.moodyclues.dto.SyncResultDto.Status;
+import com.moodyclues.model.Emotion;
+import com.moodyclues.model.HabitsEntry;
+import com.moodyclues.model.JournalEntry;
+import com.moodyclues.model.JournalUser;
+import com.moodyclues.projection.EntryRef;
+import com.moodyclues.repository.EmotionDailyCountRepository;
+import com.moodyclues.repository.EmotionRepository;
+import com.moodyclues.repository.HabitsEntryRepository;
+import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.repository.JournalUserRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
+import com.moodyclues.service.SyncService;
+
+import jakarta.transaction.Transactional;
+
+@Service
+@Transactional
+public class SyncServiceImpl implements SyncService {
+
+	private static final int MAX_CLIENT_REF_LENGTH = 64;
+	
+	private static final String JOURNAL_CLIENT_REF_KEY = "uk_journal_entries_user_client_ref";
+	
+	private static final String HABITS_CLIENT_REF_KEY = "uk_habits_entries_user_client_ref";
+	
+	@Autowired
+	JournalEntryRepository jentryRepo;
+	
+	@Autowired
+	HabitsEntryRepository hentryRepo;
+	
+	@Autowired
+	JournalUserRepository juserRepo;
+	
+	@Autowired
+	EmotionRepository emoRepo;
+	
+	@Autowired
+	EmotionCatalog emotionCatalog;
+	
+	@Autowired
+	UserDailyStatsRepository statsRepo;
+	
+	@Autowired
+	EmotionDailyCountRepository emotionCountRepo;
+	
+	@Autowired
+	DashboardPayloadCache dashboardCache;
+	
+	@Autowired
+	ReadYourWrites readYourWrites;
+	
+	@Value("${moodyclues.sync.max-items:200}")
+	int maxItems;
+	
+	// Allowed clock drift between phone and server for createdAt
+	@Value("${moodyclues.sync.max-clock-skew:5m}")
+	Duration maxClockSkew;
+	
+	@Override
+	public List<SyncResultDto> syncEntries(SyncRequestDto request) {
+		
+		String userId = request.getUserId();
+		List<SyncEntryDto> items = request.getEntries() == null ? List.of() : request.getEntries();
+		
+		if (userId == null || userId.isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing userId");
+		}
+		if (items.size() > maxItems) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxItems + " entries per sync");
+		}
+		// Checked up front so a bad userId is a 404, not a key violation at flush
+		if (!juserRepo.existsById(userId)) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+		}
+		
+		// Everything this user already synced from the batch, one query per table
+		List<String> journalRefs = new ArrayList<>();
+		List<String> habitsRefs = new ArrayList<>();
+		for (SyncEntryDto item : items) {
+			if (item != null && validRef(item.getClientRef())) {
+				if ("journal".equals(item.getType())) {
+					journalRefs.add(item.getClientRef());
+				} else if ("habits".equals(item.getType())) {
+					habitsRefs.add(item.getClientRef());
+				}
+			}
+		}
+		Map<String, String> journalSeen = new HashMap<>();
+		Map<String, String> habitsSeen = new HashMap<>();
+		if (!journalRefs.isEmpty()) {
+			for (EntryRef ref : jentryRepo.findByClientRefs(userId, journalRefs)) {
+				journalSeen.put(ref.getClientRef(), ref.getId());
+			}
+		}
+		if (!habitsRefs.isEmpty()) {
+			for (EntryRef ref : hentryRepo.findByClientRefs(userId, habitsRefs)) {
+				habitsSeen.put(ref.getClientRef(), ref.getId());
+			}
+		}
+		
+		JournalUser user = juserRepo.getReferenceById(userId);
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime latest = now.plus(maxClockSkew);
+		
+		List<SyncResultDto> results = new ArrayList<>();
+		
+		// Results of new entries get their id once the entity is saved
+		List<JournalEntry> newJournal = new ArrayList<>();
+		List<SyncResultDto> newJournalResults = new ArrayList<>();
+		List<HabitsEntry> newHabits = new ArrayList<>();
+		List<SyncResultDto> newHabitsResults = new ArrayList<>();
+		
+		for (SyncEntryDto item : items) {
+			
+			String ref = item == null ? null : item.getClientRef();
+			String problem = problemWith(item, latest);
+			if (problem != null) {
+				results.add(new SyncResultDto(ref, Status.REJECTED, null, problem));
+				continue;
+			}
+			
+			if ("journal".equals(item.getType())) {
+				if (journalSeen.containsKey(ref)) {
+					results.add(new SyncResultDto(ref, Status.DUPLICATE, journalSeen.get(ref), null));
+					continue;
+				}
+				
+				JournalEntry entry = new JournalEntry(user);
+				entry.setClientRef(ref);
+				entry.setCreatedAt(item.getCreatedAt());
+				entry.setLastSavedAt(now);
+				entry.setMood(item.getMood());
+				entry.setEntryTitle(item.getEntryTitle());
+				entry.setEntryText(item.getEntryText());
+				
+				try {
+					if (item.getEmotions() != null) {
+						for (String label : item.getEmotions()) {
+							entry.getEmotions().add(emoRepo.getReferenceById(emotionCatalog.idFor(label)));
+						}
+					}
+				} catch (IllegalArgumentException e) {
+					results.add(new SyncResultDto(ref, Status.REJECTED, null, e.getMessage()));
+					continue;
+				}
+				
+				SyncResultDto result = new SyncResultDto(ref, Status.CREATED, null, null);
+				results.add(result);
+				newJournal.add(entry);
+				newJournalResults.add(result);
+				// A repeat later in the same batch is a duplicate of this one
+				journalSeen.put(ref, null);
+				
+			} else {
+				if (habitsSeen.containsKey(ref)) {
+					results.add(new SyncResultDto(ref, Status.DUPLICATE, habitsSeen.get(ref), null));
+					continue;
+				}
+				
+				HabitsEntry entry = new HabitsEntry(user);
+				entry.setClientRef(ref);
+				entry.setCreatedAt(item.getCreatedAt());
+				entry.setLastSavedAt(now);
+				entry.setSleep(item.getSleep());
+				entry.setWater(item.getWater());
+				entry.setWorkHours(item.getWorkHours());
+				
+				SyncResultDto result = new SyncResultDto(ref, Status.CREATED, null, null);
+				results.add(result);
+				newHabits.add(entry);
+				newHabitsResults.add(result);
+				habitsSeen.put(ref, null);
+			}
+		}
+		
+		if (newJournal.isEmpty() && newHabits.isEmpty()) {
+			return results;
+		}
+		
+		// Ids are generated on persist, the INSERTs go out as JDBC batches at flush.
+		// Flushed here so a clientRef stored by a concurrent sync since the lookup above
+		// is told apart from any other integrity error.
+		try {
+			jentryRepo.saveAll(newJournal);
+			hentryRepo.saveAll(newHabits);
+			jentryRepo.flush();
+		} catch (DataIntegrityViolationException e) {
+			if (isClientRefConflict(e)) {
+				// Nothing was stored, retrying gives DUPLICATE
+				throw new ResponseStatusException(HttpStatus.CONFLICT, "Entry synced concurrently, retry");
+			}
+			throw e;
+		}
+		for (int i = 0; i < newJournal.size(); i++) {
+			newJournalResults.get(i).setEntryId(newJournal.get(i).getId());
+		}
+		for (int i = 0; i < newHabits.size(); i++) {
+			newHabitsResults.get(i).setEntryId(newHabits.get(i).getId());
+		}
+		
+		// Rollups, one upsert per touched day rather than per entry
+		Map<LocalDate, double[]> journalDays = new HashMap<>();
+		Map<LocalDate, Map<String, Integer>> emotionDays = new HashMap<>();
+		for (JournalEntry entry : newJournal) {
+			LocalDate day = entry.getCreatedAt().toLocalDate();
+			double[] acc = journalDays.computeIfAbsent(day, d -> new double[2]);
+			acc[0] += entry.getMood();
+			acc[1] += 1;
+			for (Emotion emo : entry.getEmotions()) {
+				emotionDays.computeIfAbsent(day, d -> new HashMap<>()).merge(emo.getId(), 1, Integer::sum);
+			}
+		}
+		Map<LocalDate, double[]> habitsDays = new HashMap<>();
+		for (HabitsEntry entry : newHabits) {
+			double[] acc = habitsDays.computeIfAbsent(entry.getCreatedAt().toLocalDate(), d -> new double[4]);
+			acc[0] += 1;
+			acc[1] += entry.getSleep();
+			acc[2] += entry.getWater();
+			acc[3] += entry.getWorkHours();
+		}
+		
+		journalDays.forEach((day, acc) -> statsRepo.addJournal(userId, day, acc[0], (int) acc[1]));
+		emotionDays.forEach((day, counts) -> counts.forEach(
+				(emotionId, n) -> emotionCountRepo.addCount(userId, day, emotionId, n)));
+		habitsDays.forEach((day, acc) -> statsRepo.addHabits(userId, day, (int) acc[0], acc[1], acc[2], acc[3]));
+		
+		dashboardCache.evictUser(userId);
+		readYourWrites.markWrite(userId);
+		
+		return results;
+	}
+	
+	// The (user_id, client_ref) unique keys from V11, the only violation a retry resolves
+	private boolean isClientRefConflict(DataIntegrityViolationException e) {
+		String message = e.getMostSpecificCause().getMessage();
+		return message != null && (message.contains(JOURNAL_CLIENT_REF_KEY) || message.contains(HABITS_CLIENT_REF_KEY));
+	}
+	
+	private boolean validRef(String ref) {
+		return ref != null && !ref.isBlank() && ref.length() <= MAX_CLIENT_REF_LENGTH;
+	}
+	
+	// Null when the item can be stored
+	private String problemWith(SyncEntryDto item, LocalDateTime latest) {
+		if (item == null) {
+			return "Empty item";
+		}
+		if (!validRef(item.getClientRef())) {
+			return "clientRef must be 1-" + MAX_CLIENT_REF_LENGTH + " characters";
+		}
+		if (!"journal".equals(item.getType()) && !"habits".equals(item.getType())) {
+			return "type must be journal or habits";
+		}
+		if (item.getCreatedAt() == null) {
+			return "Missing createdAt";
+		}
+		if (item.getCreatedAt().isAfter(latest)) {
+			return "createdAt is in the future";
+		}
+		if ("journal".equals(item.getType()) && item.getEmotions() != null && item.getEmotions().size() > 2) {
+			return "At most 2 emotions";
+		}
+		return null;
+	}
+	
+}
@@ -0,0 +1,8 @@
+-- V10__journal_fulltext.sql
+-- FULLTEXT indexes for /api/journal/entries search (FullTextJournalSearchBackend).
+-- The title-only index is there so title matches can be weighted higher.
+-- InnoDB builds one FULLTEXT index per ALTER, hence two statements.
+
+ALTER TABLE `journal_entries` ADD FULLTEXT INDEX `ft_journal_entries_title_text` (`entry_title`, `entry_text`);
+
+ALTER TABLE `journal_entries` ADD FULLTEXT INDEX `ft_journal_entries_title` (`entry_title`);
@@ -0,0 +1,12 @@
+-- V11__entry_client_ref.sql
+-- Client-generated id of entries created offline on Android (/api/sync/entries).
+-- Unique per user so a replayed sync cannot insert the same entry twice.
+-- Entries from the web and /submit routes leave it NULL.
+
+ALTER TABLE `journal_entries`
+  ADD COLUMN `client_ref` varchar(64) DEFAULT NULL,
+  ADD UNIQUE KEY `uk_journal_entries_user_client_ref` (`user_id`, `client_ref`);
+
+ALTER TABLE `habits_entries`
+  ADD COLUMN `client_ref` varchar(64) DEFAULT NULL,
+  ADD UNIQUE KEY `uk_habits_entries_user_client_ref` (`user_id`, `client_ref`);
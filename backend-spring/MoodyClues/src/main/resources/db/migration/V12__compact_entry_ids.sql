@@ -0,0 +1,29 @@
+-- V12__compact_entry_ids.sql
+-- Entry and link request ids are now UUIDv7 strings (see model.TimeOrderedUuid),
+-- always 36 ASCII characters. Store them as fixed-width binary-collated CHAR(36)
+-- instead of utf8mb4 varchar(255): cheaper comparisons, and the plain byte order
+-- matches creation order, so new rows insert near the right edge of the primary
+-- key instead of at random pages.
+--
+-- That insert locality is the only gain. The stored key stays 36 bytes, so index
+-- size is unchanged (nothing was measured beyond that). Existing rows keep their
+-- v4 and UUID() v1 ids, which spread over the whole hex range, so v7 ids
+-- interleave with them rather than sorting after them until those rows age out.
+
+-- entry_emotions.entry_id must match journal_entries.id for the foreign key
+ALTER TABLE `entry_emotions` DROP FOREIGN KEY `FK8i93kb9v128o9j7vbafdwniea`;
+
+ALTER TABLE `journal_entries`
+  MODIFY `id` char(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+ALTER TABLE `entry_emotions`
+  MODIFY `entry_id` char(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+ALTER TABLE `entry_emotions`
+  ADD CONSTRAINT `FK8i93kb9v128o9j7vbafdwniea` FOREIGN KEY (`entry_id`) REFERENCES `journal_entries` (`id`);
+
+ALTER TABLE `habits_entries`
+  MODIFY `id` char(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+ALTER TABLE `link_request`
+  MODIFY `id` char(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
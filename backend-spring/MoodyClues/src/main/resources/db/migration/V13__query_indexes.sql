@@ -0,0 +1,39 @@
+-- V13__query_indexes.sql
+-- Composite indexes for the listing, dashboard and link queries. Each one starts
+-- with the column of a single-column FK index, which is dropped at the end once
+-- the foreign key can use the new index. QueryPlanTest checks the plans.
+
+-- Listings and keyset pages: WHERE user_id = ? AND archived = false
+-- ORDER BY created_at DESC, id DESC (read backwards, no filesort)
+ALTER TABLE `journal_entries`
+  ADD KEY `idx_journal_entries_user_archived_created` (`user_id`, `archived`, `created_at`, `id`);
+
+-- findDailyAggBetween(ForUsers): user_id + created_at range, AVG(mood) read from the index
+ALTER TABLE `journal_entries`
+  ADD KEY `idx_journal_entries_user_created_mood` (`user_id`, `created_at`, `mood`);
+
+ALTER TABLE `habits_entries`
+  ADD KEY `idx_habits_entries_user_archived_created` (`user_id`, `archived`, `created_at`, `id`);
+
+-- Emotions of a page of entries (batch fetch) without touching the table rows
+ALTER TABLE `entry_emotions`
+  ADD KEY `idx_entry_emotions_entry_emotion` (`entry_id`, `emotion_id`);
+
+-- Outgoing / incoming requests by status, newest first
+ALTER TABLE `link_request`
+  ADD KEY `idx_link_request_counsellor_status_requested` (`counsellor_user_id`, `status`, `requested_at`),
+  ADD KEY `idx_link_request_journal_status_requested` (`journal_user_id`, `status`, `requested_at`);
+
+-- isLinkedTo and findClients
+ALTER TABLE `counsellor_client`
+  ADD KEY `idx_counsellor_client_counsellor_client` (`counsellor_id`, `client_id`);
+
+-- -----------------------------
+-- FK indexes now covered by the composites above
+-- -----------------------------
+
+ALTER TABLE `journal_entries` DROP KEY `FKh4hlu7kdodir02mr6pdx5hpxh`;
+ALTER TABLE `habits_entries` DROP KEY `FKeaehlac90n0ytl52wg66lp1mw`;
+ALTER TABLE `entry_emotions` DROP KEY `FK8i93kb9v128o9j7vbafdwniea`;
+ALTER TABLE `link_request` DROP KEY `FKqmo1m0cv1i4k5wvel7pytsgoj`, DROP KEY `FKsksi88nq3k3lkf15a95b5lrr3`;
+ALTER TABLE `counsellor_client` DROP KEY `FK30ncg6ollxajea8ln4ygspfl3`;
@@ -0,0 +1,58 @@
+-- V14__unique_login_emails.sql
+-- Login looks users up by email (JournalUserRepository.findIdentitiesByEmail), which
+-- scanned both tables. Registration already rejects a taken email per table, the
+-- unique keys make that hold under concurrent sign-ups too.
+-- An email may still exist once in each table (a counsellor who also journals).
+
+-- -----------------------------
+-- Existing duplicates
+-- -----------------------------
+-- The old check could race, so an email may already be taken twice in a table
+-- (neither account could sign in: the lookup expected one row). Per email the
+-- account kept is the active one, then the lowest id. The others get their id
+-- appended to the email, and are listed here to be merged or contacted by hand.
+
+CREATE TABLE IF NOT EXISTS `login_email_conflicts` (
+  `user_table` varchar(32) NOT NULL,
+  `user_id` varchar(255) NOT NULL,
+  `email` varchar(255) NOT NULL,
+  PRIMARY KEY (`user_table`, `user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `login_email_conflicts` (`user_table`, `user_id`, `email`)
+SELECT 'journal_users', r.`id`, r.`email`
+FROM (
+  SELECT `id`, `email`,
+         ROW_NUMBER() OVER (PARTITION BY `email` ORDER BY `archived`, `id`) AS rn
+  FROM `journal_users`
+  WHERE `email` IS NOT NULL
+) r
+WHERE r.rn > 1;
+
+INSERT INTO `login_email_conflicts` (`user_table`, `user_id`, `email`)
+SELECT 'counsellor_user', r.`id`, r.`email`
+FROM (
+  SELECT `id`, `email`,
+         ROW_NUMBER() OVER (PARTITION BY `email` ORDER BY `archived`, `id`) AS rn
+  FROM `counsellor_user`
+  WHERE `email` IS NOT NULL
+) r
+WHERE r.rn > 1;
+
+UPDATE `journal_users` u
+JOIN `login_email_conflicts` c ON c.`user_table` = 'journal_users' AND c.`user_id` = u.`id`
+SET u.`email` = CONCAT(u.`email`, '#', u.`id`);
+
+UPDATE `counsellor_user` u
+JOIN `login_email_conflicts` c ON c.`user_table` = 'counsellor_user' AND c.`user_id` = u.`id`
+SET u.`email` = CONCAT(u.`email`, '#', u.`id`);
+
+-- -----------------------------
+-- Unique keys
+-- -----------------------------
+
+ALTER TABLE `journal_users`
+  ADD UNIQUE KEY `uk_journal_users_email` (`email`);
+
+ALTER TABLE `counsellor_user`
+  ADD UNIQUE KEY `uk_counsellor_user_email` (`email`);
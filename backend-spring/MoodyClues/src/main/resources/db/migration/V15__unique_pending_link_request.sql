@@ -0,0 +1,26 @@
+-- V15__unique_pending_link_request.sql
+-- At most one PENDING request per (counsellor, journal user). createNewRequest checks
+-- first, this makes two concurrent requests for the same pair fail on insert instead
+-- of both going through. status is the enum ordinal, 0 = PENDING.
+--
+-- MySQL has no partial unique index, so the key is on a virtual column that is only
+-- set while the request is pending; NULLs never collide. Not mapped in LinkRequest.
+
+-- Existing duplicates: keep one pending request per pair, decline the rest
+UPDATE `link_request` lr
+JOIN (
+  SELECT `counsellor_user_id`, `journal_user_id`, MIN(`id`) AS keep_id
+  FROM `link_request`
+  WHERE `status` = 0
+  GROUP BY `counsellor_user_id`, `journal_user_id`
+  HAVING COUNT(*) > 1
+) d ON d.`counsellor_user_id` = lr.`counsellor_user_id`
+   AND d.`journal_user_id` = lr.`journal_user_id`
+SET lr.`status` = 2
+WHERE lr.`status` = 0
+  AND lr.`id` <> d.keep_id;
+
+ALTER TABLE `link_request`
+  ADD COLUMN `pending_pair` varchar(511)
+    GENERATED ALWAYS AS (IF(`status` = 0, CONCAT(`counsellor_user_id`, '|', `journal_user_id`), NULL)) VIRTUAL,
+  ADD UNIQUE KEY `uk_link_request_pending_pair` (`pending_pair`);
@@ -0,0 +1,56 @@
+-- V8__user_daily_stats.sql
+-- Per-user per-day rollup read by /api/dashboard/window instead of re-aggregating
+-- journal_entries / habits_entries on every call.
+-- Maintained transactionally by EntryServiceImpl (submit, habits edit, archive).
+-- Archived entries are not counted.
+
+CREATE TABLE IF NOT EXISTS `user_daily_stats` (
+  `user_id` varchar(255) NOT NULL,
+  `day` date NOT NULL,
+  `mood_sum` double NOT NULL DEFAULT 0,
+  `mood_count` int NOT NULL DEFAULT 0,
+  `habits_count` int NOT NULL DEFAULT 0,
+  `sleep_sum` double NOT NULL DEFAULT 0,
+  `water_sum` double NOT NULL DEFAULT 0,
+  `work_hours_sum` double NOT NULL DEFAULT 0,
+  PRIMARY KEY (`user_id`, `day`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- -----------------------------
+-- Backfill from existing rows
+-- -----------------------------
+-- Safe to re-run: values are recomputed, not added.
+
+INSERT INTO user_daily_stats (user_id, day, mood_sum, mood_count)
+SELECT je.user_id,
+       DATE(je.created_at),
+       SUM(je.mood),
+       COUNT(*)
+FROM journal_entries je
+WHERE je.archived = b'0'
+  AND je.user_id IS NOT NULL
+  AND je.created_at IS NOT NULL
+GROUP BY je.user_id, DATE(je.created_at)
+ON DUPLICATE KEY UPDATE
+  mood_sum   = VALUES(mood_sum),
+  mood_count = VALUES(mood_count)
+;
+
+INSERT INTO user_daily_stats (user_id, day, habits_count, sleep_sum, water_sum, work_hours_sum)
+SELECT he.user_id,
+       DATE(he.created_at),
+       COUNT(*),
+       SUM(he.sleep),
+       SUM(he.water),
+       SUM(he.work_hours)
+FROM habits_entries he
+WHERE he.archived = b'0'
+  AND he.user_id IS NOT NULL
+  AND he.created_at IS NOT NULL
+GROUP BY he.user_id, DATE(he.created_at)
+ON DUPLICATE KEY UPDATE
+  habits_count   = VALUES(habits_count),
+  sleep_sum      = VALUES(sleep_sum),
+  water_sum      = VALUES(water_sum),
+  work_hours_sum = VALUES(work_hours_sum)
+;
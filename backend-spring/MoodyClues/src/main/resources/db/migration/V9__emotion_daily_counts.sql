@@ -0,0 +1,33 @@
+-- V9__emotion_daily_counts.sql
+-- Per-user per-day emotion tallies for the emotion distribution widget
+-- (user and counsellor dashboards), so reads no longer join entry_emotions.
+-- Maintained by EntryServiceImpl on submit (+1 per emotion) and archive (-1).
+-- Archived entries are not counted.
+
+CREATE TABLE IF NOT EXISTS `emotion_daily_counts` (
+  `user_id` varchar(255) NOT NULL,
+  `day` date NOT NULL,
+  `emotion_id` varchar(255) NOT NULL,
+  `cnt` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`user_id`, `day`, `emotion_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- -----------------------------
+-- Backfill from existing rows
+-- -----------------------------
+-- Safe to re-run: values are recomputed, not added.
+
+INSERT INTO emotion_daily_counts (user_id, day, emotion_id, cnt)
+SELECT je.user_id,
+       DATE(je.created_at),
+       ee.emotion_id,
+       COUNT(*)
+FROM entry_emotions ee
+JOIN journal_entries je ON ee.entry_id = je.id
+WHERE je.archived = b'0'
+  AND je.user_id IS NOT NULL
+  AND je.created_at IS NOT NULL
+GROUP BY je.user_id, DATE(je.created_at), ee.emotion_id
+ON DUPLICATE KEY UPDATE
+  cnt = VALUES(cnt)
+;
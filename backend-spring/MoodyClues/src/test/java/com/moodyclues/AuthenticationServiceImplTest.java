@@ -0,0 +1,188 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.moodyclues.projection.IdentityRow;
+import com.moodyclues.repository.CounsellorRepository;
+import com.moodyclues.repository.JournalUserRepository;
+import com.moodyclues.security.AuthenticatedUser;
+import com.moodyclues.security.AuthenticatedUser.Role;
+import com.moodyclues.serviceimpl.AuthenticationServiceImpl;
+
+// The transaction template runs its callbacks inline, so the order of the
+// lookup, BCrypt and the rehash UPDATE against it can be checked.
+class AuthenticationServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    @InjectMocks
+    private AuthenticationServiceImpl authService;
+
+    @Mock
+    private JournalUserRepository juserRepo;
+
+    @Mock
+    private CounsellorRepository cRepo;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(transactionTemplate.execute(any())).thenAnswer(
+                inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+        doAnswer(inv -> {
+            ((Consumer<TransactionStatus>) inv.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static IdentityRow row(String id, String role, String password, Boolean showEmotion) {
+        return new IdentityRow() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getRole() {
+                return role;
+            }
+
+            @Override
+            public String getPassword() {
+                return password;
+            }
+
+            @Override
+            public Boolean getShowEmotion() {
+                return showEmotion;
+            }
+        };
+    }
+
+    @Test
+    void testAuthenticate_journalUser() {
+        when(juserRepo.findIdentitiesByEmail(EMAIL)).thenReturn(List.of(row("u1", "JOURNAL", "hash", true)));
+        when(passwordEncoder.matches("Password123!", "hash")).thenReturn(true);
+
+        Optional<AuthenticatedUser> user = authService.authenticate(EMAIL, "Password123!", Role.JOURNAL);
+
+        assertTrue(user.isPresent());
+        assertEquals("u1", user.get().id());
+        assertEquals(Role.JOURNAL, user.get().role());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testAuthenticate_picksRowOfRequestedRole() {
+        // Same email registered on both sides, journal row first as the UNION orders it
+        when(juserRepo.findIdentitiesByEmail(EMAIL)).thenReturn(List.of(
+                row("u1", "JOURNAL", "journal-hash", false),
+                row("c1", "COUNSELLOR", "counsellor-hash", null)));
+        when(passwordEncoder.matches("Password123!", "counsellor-hash")).thenReturn(true);
+
+        Optional<AuthenticatedUser> user = authService.authenticate(EMAIL, "Password123!", Role.COUNSELLOR);
+
+        assertTrue(user.isPresent());
+        assertEquals("c1", user.get().id());
+        assertEquals(Role.COUNSELLOR, user.get().role());
+        verify(passwordEncoder, never()).matches("Password123!", "journal-hash");
+    }
+
+    @Test
+    void testAuthenticate_roleWithoutRow() {
+        when(juserRepo.findIdentitiesByEmail(EMAIL)).thenReturn(List.of(row("u1", "JOURNAL", "hash", false)));
+
+        assertFalse(authService.authenticate(EMAIL, "Password123!", Role.COUNSELLOR).isPresent());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testAuthenticate_unknownEmail() {
+        when(juserRepo.findIdentitiesByEmail("missing@example.com")).thenReturn(List.of());
+
+        assertFalse(authService.authenticate("missing@example.com", "Password123!", Role.JOURNAL).isPresent());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testAuthenticate_wrongPassword() {
+        when(juserRepo.findIdentitiesByEmail(EMAIL)).thenReturn(List.of(row("u1", "JOURNAL", "hash", false)));
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        assertFalse(authService.authenticate(EMAIL, "wrong", Role.JOURNAL).isPresent());
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+    }
+
+    @Test
+    void testAuthenticate_missingCredentials() {
+        assertFalse(authService.authenticate(null, "Password123!", Role.JOURNAL).isPresent());
+        assertFalse(authService.authenticate(EMAIL, null, Role.JOURNAL).isPresent());
+        verifyNoInteractions(juserRepo, passwordEncoder);
+    }
+
+    @Test
+    void testAuthenticate_rehashOutsideTransaction() {
+        when(juserRepo.findIdentitiesByEmail(EMAIL)).thenReturn(List.of(row("u1", "JOURNAL", "old-cost-hash", false)));
+        when(passwordEncoder.matches("Password123!", "old-cost-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-cost-hash")).thenReturn(true);
+        when(passwordEncoder.encode("Password123!")).thenReturn("new-cost-hash");
+
+        assertTrue(authService.authenticate(EMAIL, "Password123!", Role.JOURNAL).isPresent());
+
+        // Lookup in one transaction, BCrypt with none, only the UPDATE in a second one
+        InOrder order = inOrder(transactionTemplate, juserRepo, passwordEncoder);
+        order.verify(transactionTemplate).execute(any());
+        order.verify(juserRepo).findIdentitiesByEmail(EMAIL);
+        order.verify(passwordEncoder).matches("Password123!", "old-cost-hash");
+        order.verify(passwordEncoder).encode("Password123!");
+        order.verify(transactionTemplate).executeWithoutResult(any());
+        order.verify(juserRepo).updatePassword("u1", "new-cost-hash");
+        verify(cRepo, never()).updatePassword(anyString(), anyString());
+    }
+
+    @Test
+    void testAuthenticate_counsellorRehashUpdatesCounsellor() {
+        when(juserRepo.findIdentitiesByEmail(EMAIL)).thenReturn(List.of(row("c1", "COUNSELLOR", "old-cost-hash", null)));
+        when(passwordEncoder.matches("Password123!", "old-cost-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-cost-hash")).thenReturn(true);
+        when(passwordEncoder.encode("Password123!")).thenReturn("new-cost-hash");
+
+        assertTrue(authService.authenticate(EMAIL, "Password123!", Role.COUNSELLOR).isPresent());
+
+        verify(cRepo).updatePassword("c1", "new-cost-hash");
+        verify(juserRepo, never()).updatePassword(anyString(), anyString());
+    }
+}
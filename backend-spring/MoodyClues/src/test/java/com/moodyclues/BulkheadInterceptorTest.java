@@ -0,0 +1,123 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.moodyclues.bulkhead.BulkheadInterceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+
+class BulkheadInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private BulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // One permit per class, no waiting
+        interceptor = new BulkheadInterceptor(true,
+                List.of("/api/user/login", "/api/user/register", "/api/counsellor/login", "/api/counsellor/register"),
+                List.of("/api/dashboard/**", "/api/counsellor/dashboard/**"),
+                List.of("/api/journal/export"),
+                1, Duration.ZERO, 1, Duration.ZERO, 1, Duration.ZERO, 1, Duration.ZERO, registry);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private boolean enter(MockHttpServletRequest request) throws Exception {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    private void leave(MockHttpServletRequest request) {
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+    }
+
+    @Test
+    void testClassify() {
+        assertEquals("write", interceptor.classify(request("POST", "/api/journal/submit")).getName());
+        assertEquals("write", interceptor.classify(request("PUT", "/api/habits/h1/edit")).getName());
+        assertEquals("user-read", interceptor.classify(request("GET", "/api/journal/page")).getName());
+        assertEquals("analytics", interceptor.classify(request("GET", "/api/dashboard/window")).getName());
+        assertEquals("analytics", interceptor.classify(request("GET", "/api/counsellor/dashboard")).getName());
+        assertEquals("export", interceptor.classify(request("GET", "/api/journal/export")).getName());
+        assertEquals("user-read", interceptor.classify(request("GET", "/api/journal/export/u1")).getName());
+        assertNull(interceptor.classify(request("POST", "/api/user/login")));
+        assertNull(interceptor.classify(request("POST", "/api/counsellor/register")));
+    }
+
+    @Test
+    void testSubmitGetsThroughWhileLoginsAndExportsSaturate() throws Exception {
+        // Logins waiting on BCrypt hold no permit at all
+        for (int i = 0; i < 20; i++) {
+            assertTrue(enter(request("POST", "/api/user/login")));
+            assertTrue(enter(request("POST", "/api/counsellor/login")));
+        }
+
+        // Export is full, and so are dashboards
+        assertTrue(enter(request("GET", "/api/journal/export")));
+        assertThrows(ResponseStatusException.class, () -> enter(request("GET", "/api/journal/export")));
+        assertTrue(enter(request("GET", "/api/dashboard/window")));
+
+        assertTrue(enter(request("POST", "/api/journal/submit")));
+        assertEquals(0.0, registry.get("moodyclues.bulkhead.rejected").tag("bulkhead", "write").counter().count());
+    }
+
+    @Test
+    void testLongExportDoesNotBlockDashboards() throws Exception {
+        assertTrue(enter(request("GET", "/api/journal/export")));
+
+        assertTrue(enter(request("GET", "/api/dashboard/window")));
+    }
+
+    @Test
+    void testFullAnalyticsDoesNotBlockWrites() throws Exception {
+        MockHttpServletRequest dashboard = request("GET", "/api/dashboard/window");
+        assertTrue(enter(dashboard));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> enter(request("GET", "/api/dashboard/window")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+
+        assertTrue(enter(request("POST", "/api/journal/submit")));
+        assertEquals(1.0, registry.get("moodyclues.bulkhead.rejected").tag("bulkhead", "analytics").counter().count());
+    }
+
+    @Test
+    void testPermitReleasedAfterCompletion() throws Exception {
+        MockHttpServletRequest first = request("GET", "/api/journal/page");
+        assertTrue(enter(first));
+        leave(first);
+
+        assertTrue(enter(request("GET", "/api/journal/page")));
+    }
+
+    @Test
+    void testAsyncDispatchKeepsPermitUntilDone() throws Exception {
+        MockHttpServletRequest export = request("GET", "/api/journal/export");
+        assertTrue(enter(export));
+
+        // The async dispatch of the streamed body neither takes a second permit nor fails
+        export.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(enter(export));
+        assertThrows(ResponseStatusException.class, () -> enter(request("GET", "/api/journal/export")));
+
+        leave(export);
+        assertTrue(enter(request("GET", "/api/journal/export")));
+    }
+}
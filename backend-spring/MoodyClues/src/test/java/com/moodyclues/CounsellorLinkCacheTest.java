@@ -0,0 +1,71 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.moodyclues.cache.CounsellorLinkCache;
+import com.moodyclues.repository.CounsellorRepository;
+
+class CounsellorLinkCacheTest {
+
+    private CounsellorLinkCache linkCache;
+
+    @Mock
+    private CounsellorRepository cRepo;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        linkCache = new CounsellorLinkCache(true, 100, Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(linkCache, "cRepo", cRepo);
+
+        when(cRepo.findClientIds("c1")).thenReturn(List.of("u1"));
+    }
+
+    @Test
+    void testLinkedClientServedFromCache() {
+        assertTrue(linkCache.isLinked("c1", "u1"));
+        assertTrue(linkCache.isLinked("c1", "u1"));
+
+        verify(cRepo, times(1)).findClientIds("c1");
+        verify(cRepo, times(0)).isLinkedTo("c1", "u1");
+    }
+
+    @Test
+    void testNonClientCheckedWithoutReload() {
+        for (int i = 0; i < 5; i++) {
+            assertFalse(linkCache.isLinked("c1", "u2"));
+        }
+
+        // The caseload is loaded once, every miss is a single-pair check
+        verify(cRepo, times(1)).findClientIds("c1");
+        verify(cRepo, times(5)).isLinkedTo("c1", "u2");
+    }
+
+    @Test
+    void testLinkMadeElsewhereReloadsOnce() {
+        assertTrue(linkCache.isLinked("c1", "u1"));
+
+        // Accepted on another node since the load
+        when(cRepo.isLinkedTo("c1", "u3")).thenReturn(true);
+        when(cRepo.findClientIds("c1")).thenReturn(List.of("u1", "u3"));
+
+        assertTrue(linkCache.isLinked("c1", "u3"));
+        assertTrue(linkCache.isLinked("c1", "u3"));
+
+        verify(cRepo, times(2)).findClientIds("c1");
+        verify(cRepo, times(1)).isLinkedTo("c1", "u3");
+    }
+}
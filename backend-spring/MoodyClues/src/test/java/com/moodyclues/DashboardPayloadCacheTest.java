@@ -0,0 +1,37 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.moodyclues.cache.DashboardPayloadCache;
+
+class DashboardPayloadCacheTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 31);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Map<String, Object> load(DashboardPayloadCache cache, String userId) {
+        return cache.get(userId, FROM, TO, () -> Map.of("load", loads.incrementAndGet()));
+    }
+
+    @Test
+    void testEvictUserForcesReload() {
+        DashboardPayloadCache cache = new DashboardPayloadCache(true, 100, Duration.ofMinutes(10));
+
+        assertEquals(1, load(cache, "u1").get("load"));
+        assertEquals(1, load(cache, "u1").get("load"));
+
+        cache.evictUser("u1");
+
+        assertEquals(2, load(cache, "u1").get("load"));
+        assertEquals(1L, cache.getInvalidations());
+    }
+}
@@ -0,0 +1,76 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.moodyclues.cache.EmotionCatalog;
+import com.moodyclues.model.Emotion;
+import com.moodyclues.repository.EmotionRepository;
+
+class EmotionCatalogTest {
+
+    @InjectMocks
+    private EmotionCatalog catalog;
+
+    @Mock
+    private EmotionRepository emoRepo;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(catalog, "refreshInterval", Duration.ofMinutes(1));
+
+        when(emoRepo.findAll()).thenReturn(List.of(emotion("e-happy", "happy")));
+        catalog.refresh();
+    }
+
+    private static Emotion emotion(String id, String label) {
+        Emotion emo = new Emotion();
+        emo.setId(id);
+        emo.setEmotionLabel(label);
+        return emo;
+    }
+
+    @Test
+    void testKnownLabelNeverReloads() {
+        assertEquals("e-happy", catalog.idFor("happy"));
+        assertEquals("e-happy", catalog.idFor("happy"));
+
+        verify(emoRepo, times(1)).findAll();
+    }
+
+    @Test
+    void testUnknownLabelsRejectedWithoutReloadInsideInterval() {
+        for (int i = 0; i < 100; i++) {
+            String label = "junk" + i;
+            assertThrows(IllegalArgumentException.class, () -> catalog.idFor(label));
+        }
+        assertThrows(IllegalArgumentException.class, () -> catalog.idFor(null));
+
+        // Only the startup load
+        verify(emoRepo, times(1)).findAll();
+    }
+
+    @Test
+    void testUnknownLabelReloadsOnceIntervalPassed() {
+        ReflectionTestUtils.setField(catalog, "refreshInterval", Duration.ZERO);
+        when(emoRepo.findAll()).thenReturn(List.of(emotion("e-happy", "happy"), emotion("e-calm", "calm")));
+
+        assertEquals("e-calm", catalog.idFor("calm"));
+
+        verify(emoRepo, times(2)).findAll();
+    }
+}
@@ -0,0 +1,180 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.moodyclues.cache.DashboardPayloadCache;
+import com.moodyclues.cache.EmotionCatalog;
+import com.moodyclues.datasource.ReadYourWrites;
+import com.moodyclues.dto.HabitsEntryUpdateRequestDto;
+import com.moodyclues.dto.JournalEntryRequestDto;
+import com.moodyclues.model.Emotion;
+import com.moodyclues.model.JournalEntry;
+import com.moodyclues.model.JournalUser;
+import com.moodyclues.repository.EmotionDailyCountRepository;
+import com.moodyclues.repository.EmotionRepository;
+import com.moodyclues.repository.HabitsEntryRepository;
+import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.repository.JournalUserRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
+import com.moodyclues.serviceimpl.EntryServiceImpl;
+
+// Each repository call below is one SQL statement (save is the journal_entries
+// INSERT plus its entry_emotions rows, flushed as one batch). getReferenceById
+// only builds a proxy and never reaches the database.
+class EntryServiceImplTest {
+
+    @InjectMocks
+    private EntryServiceImpl entryService;
+
+    @Mock
+    private JournalEntryRepository jentryRepo;
+
+    @Mock
+    private HabitsEntryRepository hentryRepo;
+
+    @Mock
+    private EmotionRepository emoRepo;
+
+    @Mock
+    private JournalUserRepository juserRepo;
+
+    @Mock
+    private EmotionCatalog emotionCatalog;
+
+    @Mock
+    private UserDailyStatsRepository statsRepo;
+
+    @Mock
+    private EmotionDailyCountRepository emotionCountRepo;
+
+    @Mock
+    private DashboardPayloadCache dashboardCache;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(juserRepo.getReferenceById("u1")).thenReturn(new JournalUser());
+        when(emotionCatalog.idFor("happy")).thenReturn("e-happy");
+        when(emotionCatalog.idFor("calm")).thenReturn("e-calm");
+        when(emoRepo.getReferenceById(anyString())).thenAnswer(inv -> {
+            Emotion emo = new Emotion();
+            emo.setId(inv.getArgument(0));
+            return emo;
+        });
+    }
+
+    private JournalEntryRequestDto request(List<String> emotions) {
+        JournalEntryRequestDto request = new JournalEntryRequestDto();
+        request.setUserId("u1");
+        request.setMood(4);
+        request.setEntryTitle("Evening walk");
+        request.setEntryText("Felt better after getting outside");
+        request.setEmotions(emotions);
+        return request;
+    }
+
+    @Test
+    void testSubmitEntry_threeStatementsNoSelects() {
+        entryService.submitEntry(request(List.of("happy", "calm")));
+
+        verify(juserRepo).getReferenceById("u1");
+        verify(emoRepo).getReferenceById("e-happy");
+        verify(emoRepo).getReferenceById("e-calm");
+
+        verify(jentryRepo, times(1)).save(any(JournalEntry.class));
+        verify(statsRepo, times(1)).addJournal(eq("u1"), any(LocalDate.class), anyDouble(), eq(1));
+        verify(emotionCountRepo, times(1)).addCounts(eq("u1"), any(LocalDate.class), eq(List.of("e-happy", "e-calm")), eq(1));
+        verify(emotionCountRepo, never()).addCount(anyString(), any(LocalDate.class), anyString(), anyInt());
+
+        verifyNoMoreInteractions(juserRepo, emoRepo, jentryRepo, statsRepo, emotionCountRepo);
+        verifyNoInteractions(hentryRepo);
+    }
+
+    @Test
+    void testSubmitEntry_noEmotionsSkipsEmotionUpsert() {
+        entryService.submitEntry(request(List.of()));
+
+        verify(jentryRepo, times(1)).save(any(JournalEntry.class));
+        verify(statsRepo, times(1)).addJournal(eq("u1"), any(LocalDate.class), anyDouble(), eq(1));
+
+        verifyNoInteractions(emoRepo, emotionCountRepo);
+    }
+
+    @Test
+    void testArchiveJournalEntry_ownerScopedNoLoad() {
+        when(jentryRepo.archiveOwned("e1", "u1")).thenReturn(1);
+
+        assertTrue(entryService.archiveJournalEntry("u1", "e1"));
+
+        verify(statsRepo).removeJournal("e1");
+        verify(emotionCountRepo).removeEntry("e1");
+        verify(dashboardCache).evictUser("u1");
+        verify(readYourWrites).markWrite("u1");
+        verify(jentryRepo, never()).getJournalEntryById(anyString());
+    }
+
+    @Test
+    void testArchiveJournalEntry_notOwnedTouchesNoRollup() {
+        when(jentryRepo.archiveOwned("e1", "u2")).thenReturn(0);
+
+        assertFalse(entryService.archiveJournalEntry("u2", "e1"));
+
+        verifyNoInteractions(statsRepo, emotionCountRepo, dashboardCache, readYourWrites);
+    }
+
+    @Test
+    void testUpdateHabitsEntry_rollupBeforeNewValues() {
+        HabitsEntryUpdateRequestDto update = new HabitsEntryUpdateRequestDto();
+        update.setSleep(7);
+        update.setWater(2);
+        update.setWorkHours(8);
+
+        when(hentryRepo.touchOwned(eq("h1"), eq("u1"), any(LocalDateTime.class))).thenReturn(1);
+
+        assertTrue(entryService.updateHabitsEntry("u1", "h1", update));
+
+        // The rollup reads the old values off the row, so it has to run first
+        InOrder order = inOrder(statsRepo, hentryRepo);
+        order.verify(statsRepo).replaceHabits("h1", 7, 2, 8);
+        order.verify(hentryRepo).updateValues("h1", 7, 2, 8);
+        verify(hentryRepo, never()).getHabitsEntryById(anyString());
+    }
+
+    @Test
+    void testUpdateHabitsEntry_notOwned() {
+        when(hentryRepo.touchOwned(eq("h1"), eq("u2"), any(LocalDateTime.class))).thenReturn(0);
+
+        assertFalse(entryService.updateHabitsEntry("u2", "h1", new HabitsEntryUpdateRequestDto()));
+
+        verify(hentryRepo, never()).updateValues(anyString(), anyDouble(), anyDouble(), anyDouble());
+        verifyNoInteractions(statsRepo, dashboardCache);
+    }
+}
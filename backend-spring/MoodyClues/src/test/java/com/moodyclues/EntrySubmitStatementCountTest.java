@@ -0,0 +1,118 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.moodyclues.cache.DashboardPayloadCache;
+import com.moodyclues.cache.EmotionCatalog;
+import com.moodyclues.datasource.ReadYourWrites;
+import com.moodyclues.dto.JournalEntryRequestDto;
+import com.moodyclues.search.JournalSearchBackend;
+import com.moodyclues.serviceimpl.EntryServiceImpl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts the JDBC statements Hibernate actually prepares for one journal submit, on
+// an embedded H2 in MySQL mode (the upserts are MySQL syntax). Catches what the mock
+// test in EntryServiceImplTest cannot: a proxy that gets initialised, a save that
+// turns into a merge SELECT, or the entry_emotions rows leaving their batch.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:submitcount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "NON_KEYWORDS=DAY,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ EntryServiceImpl.class, EmotionCatalog.class })
+@Sql("classpath:loadtest/emotions.sql")
+class EntrySubmitStatementCountTest {
+
+    @Autowired
+    private EntryServiceImpl entryService;
+
+    @Autowired
+    private EmotionCatalog emotionCatalog;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @MockitoBean
+    private DashboardPayloadCache dashboardCache;
+
+    @MockitoBean
+    private ReadYourWrites readYourWrites;
+
+    @MockitoBean
+    private JournalSearchBackend searchBackend;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("INSERT INTO journal_users (id, archived, email, first_name, last_name, password, show_emotion) "
+                + "VALUES ('u1', false, 'u1@example.com', 'Test', 'User', 'hash', true)");
+        // Loaded at startup in the app, not part of a submit
+        emotionCatalog.refresh();
+        em.clear();
+
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    private JournalEntryRequestDto request(List<String> emotions) {
+        JournalEntryRequestDto request = new JournalEntryRequestDto();
+        request.setUserId("u1");
+        request.setMood(4);
+        request.setEntryTitle("Title");
+        request.setEntryText("Text");
+        request.setEmotions(emotions);
+        return request;
+    }
+
+    @Test
+    void testSubmitEntry_fourStatementsNoLoads() {
+        entryService.submitEntry(request(List.of("happy", "curious")));
+        em.flush();
+
+        // journal_entries INSERT, one batched entry_emotions INSERT for both rows,
+        // user_daily_stats upsert, emotion_daily_counts upsert
+        assertEquals(4, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(0, stats.getEntityFetchCount());
+        assertEquals(1, stats.getEntityInsertCount());
+    }
+
+    @Test
+    void testSubmitEntry_noEmotionsTwoStatements() {
+        entryService.submitEntry(request(List.of()));
+        em.flush();
+
+        // journal_entries INSERT and the user_daily_stats upsert
+        assertEquals(2, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+    }
+}
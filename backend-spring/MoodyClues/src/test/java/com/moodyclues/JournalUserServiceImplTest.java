@@ -1,10 +1,10 @@
 package com.moodyclues;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,40 +62,6 @@ class JournalUserServiceImplTest {
             journalUserService.findJournalUserByEmail("missing@example.com"));
     }
 
-    @Test
-    void testLoginAttempt_success() {
-        String email = "user@example.com";
-        String rawPassword = "Password123!";
-        String hashedPassword = "hashed";
-
-        JournalUser user = new JournalUser();
-        user.setEmail(email);
-        user.setPassword(hashedPassword);
-
-        when(userRepo.findJournalUserByEmail(email)).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(rawPassword, hashedPassword)).thenReturn(true);
-
-        boolean result = journalUserService.loginAttempt(email, rawPassword);
-        assertTrue(result);
-    }
-
-    @Test
-    void testLoginAttempt_wrongPassword() {
-        String email = "user@example.com";
-        String rawPassword = "wrong";
-        String hashedPassword = "hashed";
-
-        JournalUser user = new JournalUser();
-        user.setEmail(email);
-        user.setPassword(hashedPassword);
-
-        when(userRepo.findJournalUserByEmail(email)).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(rawPassword, hashedPassword)).thenReturn(false);
-
-        boolean result = journalUserService.loginAttempt(email, rawPassword);
-        assertFalse(result);
-    }
-
     @Test
     void testRegisterUser_success() {
         RegisterRequestDto dto = new RegisterRequestDto();
@@ -132,25 +98,49 @@ class JournalUserServiceImplTest {
     @Test
     void testDeleteUserByEmail() {
         String email = "user@example.com";
-        JournalUser user = new JournalUser();
-        user.setArchived(false);
 
-        when(userRepo.findJournalUserByEmail(email)).thenReturn(Optional.of(user));
+        when(userRepo.archiveByEmail(email)).thenReturn(1);
 
         journalUserService.deleteUser(email, "somePassword");
-        assertTrue(user.isArchived());
+        verify(userRepo).archiveByEmail(email);
+        verify(userRepo, never()).findJournalUserByEmail(email);
     }
 
     @Test
     void testDeleteUserById() {
         String id = "some-id";
-        JournalUser user = new JournalUser();
-        user.setArchived(false);
 
-        when(userRepo.findJournalUserById(id)).thenReturn(Optional.of(user));
+        when(userRepo.archiveById(id)).thenReturn(1);
 
         journalUserService.deleteUser(id);
-        assertTrue(user.isArchived());
+        verify(userRepo).archiveById(id);
+        verify(userRepo, never()).findJournalUserById(id);
+    }
+
+    @Test
+    void testDeleteUserById_notFound() {
+        when(userRepo.archiveById("missing")).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> journalUserService.deleteUser("missing"));
+    }
+
+    @Test
+    void testToggleEmotion_noEntityLoad() {
+        String id = "user-123";
+
+        when(userRepo.toggleShowEmotion(id)).thenReturn(1);
+        when(userRepo.findShowEmotion(id)).thenReturn(Optional.of(false));
+
+        assertEquals("Emotions set to hidden.", journalUserService.toggleEmotion(id));
+        verify(userRepo, never()).findJournalUserById(id);
+        verify(userRepo, never()).save(any(JournalUser.class));
+    }
+
+    @Test
+    void testToggleEmotion_notFound() {
+        when(userRepo.toggleShowEmotion("missing")).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> journalUserService.toggleEmotion("missing"));
     }
     
     @Test
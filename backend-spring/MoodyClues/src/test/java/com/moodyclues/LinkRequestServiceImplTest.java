@@ -0,0 +1,129 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.moodyclues.cache.CounsellorLinkCache;
+import com.moodyclues.model.CounsellorUser;
+import com.moodyclues.model.JournalUser;
+import com.moodyclues.model.LinkRequest;
+import com.moodyclues.repository.CounsellorRepository;
+import com.moodyclues.repository.JournalUserRepository;
+import com.moodyclues.repository.LinkRequestRepository;
+import com.moodyclues.serviceimpl.LinkRequestServiceImpl;
+
+// The counsellor's and user's collections are mocks: any call on them would be a
+// lazy load of the whole counsellor_client list in the real app.
+class LinkRequestServiceImplTest {
+
+    @InjectMocks
+    private LinkRequestServiceImpl linkService;
+
+    @Mock
+    private LinkRequestRepository linkRepo;
+
+    @Mock
+    private JournalUserRepository juserRepo;
+
+    @Mock
+    private CounsellorRepository cRepo;
+
+    @Mock
+    private CounsellorLinkCache linkCache;
+
+    private CounsellorUser counsellor;
+    private JournalUser journalUser;
+    private List<JournalUser> clients;
+    private List<CounsellorUser> counsellors;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        clients = mock(List.class);
+        counsellors = mock(List.class);
+
+        counsellor = new CounsellorUser();
+        counsellor.setId("c1");
+        counsellor.setClients(clients);
+
+        journalUser = new JournalUser();
+        journalUser.setId("j1");
+        journalUser.setEmail("user@example.com");
+        journalUser.setCounsellors(counsellors);
+
+        when(cRepo.findById("c1")).thenReturn(Optional.of(counsellor));
+        when(juserRepo.findJournalUserByEmail("user@example.com")).thenReturn(Optional.of(journalUser));
+    }
+
+    @Test
+    void testCreateNewRequest_success() {
+        when(linkRepo.linkState("c1", "j1")).thenReturn(LinkRequestRepository.LINK_NONE);
+        when(linkRepo.saveAndFlush(any(LinkRequest.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        LinkRequest result = linkService.createNewRequest("c1", "user@example.com");
+
+        assertEquals(LinkRequest.Status.PENDING, result.getStatus());
+        assertSame(counsellor, result.getCounsellorUser());
+        assertSame(journalUser, result.getJournalUser());
+        verifyNoInteractions(clients, counsellors);
+    }
+
+    @Test
+    void testCreateNewRequest_alreadyLinked() {
+        when(linkRepo.linkState("c1", "j1")).thenReturn(LinkRequestRepository.LINK_LINKED);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> linkService.createNewRequest("c1", "user@example.com"));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(linkRepo, never()).saveAndFlush(any());
+        verifyNoInteractions(clients, counsellors);
+    }
+
+    @Test
+    void testCreateNewRequest_pendingExists() {
+        when(linkRepo.linkState("c1", "j1")).thenReturn(LinkRequestRepository.LINK_PENDING);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> linkService.createNewRequest("c1", "user@example.com"));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(linkRepo, never()).saveAndFlush(any());
+        verifyNoInteractions(clients, counsellors);
+    }
+
+    @Test
+    void testCreateNewRequest_concurrentDuplicate() {
+        // Another request for the same pair was inserted between the check and ours
+        when(linkRepo.linkState("c1", "j1")).thenReturn(LinkRequestRepository.LINK_NONE);
+        when(linkRepo.saveAndFlush(any(LinkRequest.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_link_request_pending_pair"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> linkService.createNewRequest("c1", "user@example.com"));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verifyNoInteractions(clients, counsellors);
+    }
+}
@@ -0,0 +1,368 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Boots the whole app on a random port against an embedded H2 (MySQL mode), fills it
+// with the datagen profile and drives a mix of login, submit, list, search and
+// dashboard calls from N virtual users over real HTTP. Prints throughput, p50/p95/p99
+// and error rate per endpoint, and fails when an endpoint misses its SLO.
+//
+//   mvn test -Dtest=LoadTest -Dloadtest=true
+//
+// Knobs (all -D): loadtest.users, loadtest.duration, loadtest.warmup (seconds),
+// loadtest.slo.p95-ms, loadtest.slo.p99-ms, loadtest.slo.error-rate, and per endpoint
+// loadtest.slo.<endpoint>.p95-ms / .p99-ms. Set loadtest.db.url (+ .user, .password)
+// to run against a local MySQL instead; Flyway then builds the schema.
+// loadtest.bulkhead=false turns the bulkheads off to see the pool without them.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("datagen")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTest {
+
+    // Relative weights of the traffic mix
+    private static final Map<String, Integer> MIX = new LinkedHashMap<>();
+    static {
+        MIX.put("login", 5);
+        MIX.put("journal-submit", 15);
+        MIX.put("journal-page", 25);
+        MIX.put("journal-search", 15);
+        MIX.put("dashboard", 25);
+        MIX.put("counsellor-dashboard", 10);
+        MIX.put("habits-page", 5);
+    }
+
+    // Password behind the hash datagen gives every user
+    private static final String PASSWORD = "password";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    // Counsellor dashboards that came back 200 with an empty caseload
+    private final AtomicInteger emptyCaseloads = new AtomicInteger();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        // datagen's own properties turn the web server off and exit when done
+        registry.add("spring.main.web-application-type", () -> "servlet");
+        registry.add("moodyclues.datagen.exit-when-done", () -> "false");
+        registry.add("moodyclues.datagen.users", () -> System.getProperty("loadtest.data.users", "200"));
+        registry.add("moodyclues.datagen.counsellors", () -> System.getProperty("loadtest.data.counsellors", "10"));
+        registry.add("moodyclues.datagen.days", () -> System.getProperty("loadtest.data.days", "90"));
+        registry.add("moodyclues.datagen.threads", () -> "2");
+        registry.add("moodyclues.datagen.batch-size", () -> "1000");
+        registry.add("moodyclues.bulkhead.enabled", () -> System.getProperty("loadtest.bulkhead", "true"));
+
+        String url = System.getProperty("loadtest.db.url");
+        if (url != null && !url.isBlank()) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("loadtest.db.user", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("loadtest.db.password", ""));
+            return;
+        }
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "NON_KEYWORDS=DAY,VALUE;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.H2Dialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> "true");
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.data-locations", () -> "classpath:loadtest/emotions.sql");
+        // The migrations are MySQL-only, and H2 has no FULLTEXT
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("moodyclues.search.backend", () -> "like");
+    }
+
+    @Test
+    void endpointsMeetSlo() throws Exception {
+
+        int users = Integer.getInteger("loadtest.users", 16);
+        long duration = Long.getLong("loadtest.duration", 30L);
+        long warmup = Long.getLong("loadtest.warmup", 5L);
+
+        List<String[]> journalUsers = jdbc.query("SELECT id, email FROM journal_users WHERE email LIKE 'gen-%'",
+                (rs, i) -> new String[] { rs.getString("id"), rs.getString("email") });
+        // Counsellors with a caseload, so their dashboard has clients to build
+        List<String[]> counsellors = jdbc.query(
+                "SELECT DISTINCT c.id, c.email FROM counsellor_user c "
+                        + "JOIN counsellor_client cc ON cc.counsellor_id = c.id WHERE c.email LIKE 'gen-%'",
+                (rs, i) -> new String[] { rs.getString("id"), rs.getString("email") });
+        assertTrue(!journalUsers.isEmpty() && !counsellors.isEmpty(), "datagen did not produce any users");
+
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        MIX.keySet().forEach(name -> recorders.put(name, new Recorder()));
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmup).toNanos();
+        long end = measureFrom + Duration.ofSeconds(duration).toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int v = 0; v < users; v++) {
+                int seed = v;
+                running.add(pool.submit(() -> {
+                    new VirtualUser(new SplittableRandom(seed), journalUsers, counsellors)
+                            .run(recorders, measureFrom, end);
+                    return null;
+                }));
+            }
+            for (Future<?> f : running) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = duration;
+        List<String> failures = new ArrayList<>();
+
+        System.out.printf("%nLoad test: %d virtual users, %ds measured after %ds warm-up%n", users, duration, warmup);
+        System.out.printf("%-22s %8s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+
+        for (Map.Entry<String, Recorder> e : recorders.entrySet()) {
+            String name = e.getKey();
+            Recorder r = e.getValue();
+            long[] sorted = r.sorted();
+            double p50 = percentile(sorted, 50), p95 = percentile(sorted, 95), p99 = percentile(sorted, 99);
+            double errorRate = sorted.length == 0 ? 0 : (double) r.errors() / sorted.length;
+
+            System.out.printf("%-22s %8d %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+                    name, sorted.length, sorted.length / seconds, p50, p95, p99, errorRate * 100);
+
+            double sloP95 = slo(name, "p95-ms", 250);
+            double sloP99 = slo(name, "p99-ms", 1000);
+            double sloErrors = slo(name, "error-rate", 0.01);
+            if (p95 > sloP95) failures.add(name + " p95 " + fmt(p95) + " ms > " + fmt(sloP95));
+            if (p99 > sloP99) failures.add(name + " p99 " + fmt(p99) + " ms > " + fmt(sloP99));
+            if (errorRate > sloErrors) failures.add(name + " error rate " + fmt(errorRate) + " > " + fmt(sloErrors));
+        }
+
+        assertEquals(0, emptyCaseloads.get(), "counsellor dashboards returned without clients");
+        assertTrue(failures.isEmpty(), "SLO missed: " + failures);
+    }
+
+    private static double slo(String endpoint, String key, double fallback) {
+        String value = System.getProperty("loadtest.slo." + endpoint + "." + key,
+                System.getProperty("loadtest.slo." + key));
+        return value == null ? fallback : Double.parseDouble(value);
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sortedNanos, int p) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sortedNanos.length);
+        return sortedNanos[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    private static String fmt(double value) {
+        return String.format("%.2f", value);
+    }
+
+    private static HttpClient client() {
+        return HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    // Latencies and errors of one endpoint, shared by all virtual users
+    private static final class Recorder {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long latency, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+
+    // One browser per role, each with its own cookie jar (session): a journal user and a
+    // counsellor. Picks the next call from MIX.
+    private final class VirtualUser {
+
+        private final SplittableRandom rnd;
+        private final List<String[]> journalUsers;
+        private final List<String[]> counsellors;
+        private final HttpClient http = client();
+        private final HttpClient counsellorHttp = client();
+        private final int totalWeight = MIX.values().stream().mapToInt(Integer::intValue).sum();
+
+        private String[] user;
+
+        VirtualUser(SplittableRandom rnd, List<String[]> journalUsers, List<String[]> counsellors) {
+            this.rnd = rnd;
+            this.journalUsers = journalUsers;
+            this.counsellors = counsellors;
+        }
+
+        void run(Map<String, Recorder> recorders, long measureFrom, long end) throws Exception {
+            // Search and the counsellor dashboard read the user from the session, so
+            // start logged in
+            login();
+            String[] counsellor = counsellors.get(rnd.nextInt(counsellors.size()));
+            if (post(counsellorHttp, "/api/counsellor/login", credentials(counsellor[1])) != 200) {
+                throw new IllegalStateException("counsellor login failed for " + counsellor[1]);
+            }
+
+            while (System.nanoTime() < end) {
+                String name = pick();
+                long t0 = System.nanoTime();
+                boolean error;
+                try {
+                    error = call(name) >= 400;
+                } catch (Exception e) {
+                    error = true;
+                }
+                long t1 = System.nanoTime();
+                if (t0 >= measureFrom) {
+                    recorders.get(name).record(t1 - t0, error);
+                }
+            }
+        }
+
+        private String pick() {
+            int roll = rnd.nextInt(totalWeight);
+            for (Map.Entry<String, Integer> e : MIX.entrySet()) {
+                roll -= e.getValue();
+                if (roll < 0) {
+                    return e.getKey();
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private int call(String name) throws Exception {
+            String userId = user[0];
+            switch (name) {
+            case "login":
+                return login();
+            case "journal-submit":
+                int mood = 1 + rnd.nextInt(5);
+                return post("/api/journal/submit", "{\"userId\":\"" + userId + "\",\"mood\":" + mood
+                        + ",\"entryTitle\":\"Load test\",\"entryText\":\"Busy day at work, short walk after\""
+                        + ",\"emotions\":[\"" + (mood >= 4 ? "happy" : mood == 3 ? "neutral" : "sad") + "\"]}");
+            case "journal-page":
+                return get("/api/journal/page/" + userId + "?size=20");
+            case "journal-search":
+                String[] terms = { "work", "walk", "tired", "day", "family", "sleep" };
+                return get("/api/journal/entries?size=20&query="
+                        + URLEncoder.encode(terms[rnd.nextInt(terms.length)], StandardCharsets.UTF_8));
+            case "dashboard":
+                return get("/api/dashboard/window?days=" + (rnd.nextBoolean() ? 7 : 30));
+            case "counsellor-dashboard":
+                return counsellorDashboard();
+            case "habits-page":
+                return get("/api/habits/page/" + userId + "?size=20");
+            default:
+                throw new IllegalArgumentException(name);
+            }
+        }
+
+        private int login() throws Exception {
+            user = journalUsers.get(rnd.nextInt(journalUsers.size()));
+            return post(http, "/api/user/login", credentials(user[1]));
+        }
+
+        // As the signed-in counsellor; an empty caseload counts as an error
+        private int counsellorDashboard() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/counsellor/dashboard/window?days=30"))
+                    .timeout(Duration.ofSeconds(10)).GET().build();
+            HttpResponse<String> response = counsellorHttp.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return response.statusCode();
+            }
+            if (JSON.readTree(response.body()).path("clients").isEmpty()) {
+                emptyCaseloads.incrementAndGet();
+                return 500;
+            }
+            return 200;
+        }
+
+        private String credentials(String email) {
+            return "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+        }
+
+        private int get(String path) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(10)).GET().build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private int post(String path, String json) throws Exception {
+            return post(http, path, json);
+        }
+
+        private int post(HttpClient client, String path, String json) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(uri(path))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+
+}
@@ -0,0 +1,328 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.moodyclues.model.CounsellorUser;
+import com.moodyclues.model.JournalUser;
+import com.moodyclues.model.LinkRequest;
+import com.moodyclues.repository.CounsellorRepository;
+import com.moodyclues.repository.EmotionDailyCountRepository;
+import com.moodyclues.repository.HabitsEntryRepository;
+import com.moodyclues.repository.JournalEntryRepository;
+import com.moodyclues.repository.LinkRequestRepository;
+import com.moodyclues.repository.UserDailyStatsRepository;
+
+import jakarta.persistence.EntityManager;
+
+// Runs every read query declared on the repositories against a real MySQL, captures
+// the SQL Hibernate sends (JPQL included) and EXPLAINs it. Fails when a large table
+// is read with a full table/index scan or needs a filesort.
+//
+// Point it at a scratch database that has realistic data, e.g. after the datagen profile:
+//   MOODYCLUES_EXPLAIN_DB_URL=jdbc:mysql://localhost:3306/moodyclues_plan \
+//   MOODYCLUES_EXPLAIN_DB_USER=root MOODYCLUES_EXPLAIN_DB_PASSWORD=... mvn test -Dtest=QueryPlanTest
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "MOODYCLUES_EXPLAIN_DB_URL", matches = ".+")
+class QueryPlanTest {
+
+    // Tables that grow with usage. Users, counsellors and emotions stay small.
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "journal_entries", "habits_entries", "entry_emotions", "link_request",
+            "counsellor_client", "user_daily_stats", "emotion_daily_counts");
+
+    private static final Set<String> SCAN_TYPES = Set.of("ALL", "index");
+
+    // Filesorts that are expected, with why they are bounded
+    private static final Map<String, String> FILESORT_ALLOWED = Map.of(
+            "findDaysBetween", "ORDER BY DATE(created_at) over one user's window",
+            "searchFullText", "ranked by relevance score, matches only",
+            "searchLike", "ranked by score, one user's entries only",
+            "findClients", "orders one counsellor's caseload by name");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            JournalEntryRepository.class, HabitsEntryRepository.class, LinkRequestRepository.class,
+            CounsellorRepository.class, UserDailyStatsRepository.class, EmotionDailyCountRepository.class);
+
+    private static final List<CapturedStatement> CAPTURED = new ArrayList<>();
+
+    private static volatile boolean capturing = false;
+
+    private record CapturedStatement(String sql, Map<Integer, Object> params) {
+    }
+
+    @DynamicPropertySource
+    static void explainDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("MOODYCLUES_EXPLAIN_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("MOODYCLUES_EXPLAIN_DB_USER", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("MOODYCLUES_EXPLAIN_DB_PASSWORD", ""));
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        // Records each prepared statement and its bound parameters while capturing is on
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource ds)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                            new Class<?>[] { DataSource.class },
+                            (proxy, method, args) -> {
+                                Object result = invoke(ds, method, args);
+                                return result instanceof Connection c ? wrap(c) : result;
+                            });
+                }
+            };
+        }
+
+        // Rethrow what the driver threw, not the reflection wrapper
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                            return wrap(ps, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    params.put(index, args[1]);
+                } else if (name.equals("clearParameters")) {
+                    params.clear();
+                } else if (capturing && name.startsWith("execute")) {
+                    synchronized (CAPTURED) {
+                        CAPTURED.add(new CapturedStatement(sql, new TreeMap<>(params)));
+                    }
+                }
+                return invoke(statement, method, args);
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, handler);
+        }
+    }
+
+    @Autowired
+    ApplicationContext context;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Test
+    void everyReadQueryUsesAnIndex() {
+
+        // The busiest user and counsellor, so the optimizer sees real cardinalities
+        String userId = jdbc.queryForObject(
+                "SELECT user_id FROM journal_entries GROUP BY user_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        String counsellorId = jdbc.queryForObject(
+                "SELECT counsellor_id FROM counsellor_client GROUP BY counsellor_id ORDER BY COUNT(*) DESC LIMIT 1", String.class);
+        String email = jdbc.queryForObject("SELECT email FROM journal_users WHERE id = ?", String.class, userId);
+
+        List<String> problems = new ArrayList<>();
+        int checked = 0;
+
+        for (Class<?> repoType : REPOSITORIES) {
+            Object repo = context.getBean(repoType);
+
+            for (Method method : repoType.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Query.class) || method.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                String where = repoType.getSimpleName() + "." + method.getName();
+
+                List<CapturedStatement> statements;
+                try {
+                    synchronized (CAPTURED) {
+                        CAPTURED.clear();
+                    }
+                    tx.executeWithoutResult(status -> {
+                        Object[] args = sampleArgs(method, userId, counsellorId, email);
+                        capturing = true;
+                        try {
+                            Object result = method.invoke(repo, args);
+                            if (result instanceof Stream<?> stream) {
+                                stream.close();
+                            }
+                        } catch (ReflectiveOperationException e) {
+                            throw new IllegalStateException(e);
+                        } finally {
+                            capturing = false;
+                        }
+                        status.setRollbackOnly();
+                    });
+                    synchronized (CAPTURED) {
+                        statements = new ArrayList<>(CAPTURED);
+                    }
+                } catch (RuntimeException e) {
+                    problems.add(where + ": could not run (" + e.getMessage() + ")");
+                    continue;
+                }
+
+                for (CapturedStatement statement : statements) {
+                    if (!statement.sql().trim().toLowerCase().startsWith("select")) {
+                        continue;
+                    }
+                    checked++;
+                    problems.addAll(explain(where, method.getName(), statement));
+                }
+            }
+        }
+
+        assertTrue(checked > 0, "No queries were captured");
+        assertTrue(problems.isEmpty(), "Query plan regressions:\n  " + String.join("\n  ", problems));
+    }
+
+    private List<String> explain(String where, String methodName, CapturedStatement statement) {
+        List<String> problems = new ArrayList<>();
+
+        jdbc.execute((Connection c) -> {
+            try (PreparedStatement ps = c.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (Map.Entry<Integer, Object> p : statement.params().entrySet()) {
+                    ps.setObject(p.getKey(), p.getValue());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String table = rs.getString("table");
+                        String type = rs.getString("type");
+                        String extra = rs.getString("Extra");
+                        if (table == null || !LARGE_TABLES.contains(stripAlias(table, statement.sql()))) {
+                            continue;
+                        }
+                        if (SCAN_TYPES.contains(type)) {
+                            problems.add(where + ": " + type + " scan on " + table + "\n    " + statement.sql());
+                        }
+                        if (extra != null && extra.contains("Using filesort") && !FILESORT_ALLOWED.containsKey(methodName)) {
+                            problems.add(where + ": filesort on " + table + "\n    " + statement.sql());
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        return problems;
+    }
+
+    // EXPLAIN reports the alias, map it back to the table name
+    private static String stripAlias(String table, String sql) {
+        if (LARGE_TABLES.contains(table)) {
+            return table;
+        }
+        for (String t : LARGE_TABLES) {
+            Pattern aliased = Pattern.compile("\\b" + t + "\\s+(as\\s+)?" + Pattern.quote(table) + "\\b",
+                    Pattern.CASE_INSENSITIVE);
+            if (aliased.matcher(sql).find()) {
+                return t;
+            }
+        }
+        return table;
+    }
+
+    private Object[] sampleArgs(Method method, String userId, String counsellorId, String email) {
+        Parameter[] params = method.getParameters();
+        Object[] args = new Object[params.length];
+
+        for (int i = 0; i < params.length; i++) {
+            Class<?> type = params[i].getType();
+            Param named = params[i].getAnnotation(Param.class);
+            String name = named == null ? "" : named.value().toLowerCase();
+            boolean lower = name.contains("from") || name.contains("start");
+
+            if (type == String.class) {
+                if (name.contains("email")) {
+                    args[i] = email;
+                } else if (name.equals("q")) {
+                    args[i] = "+work*";
+                } else if (name.contains("pattern")) {
+                    args[i] = "%work%";
+                } else if (name.contains("counsellor") || name.equals("cid")) {
+                    args[i] = counsellorId;
+                } else {
+                    args[i] = userId;
+                }
+            } else if (type == LocalDate.class) {
+                args[i] = lower ? LocalDate.now().minusDays(90) : LocalDate.now();
+            } else if (type == LocalDateTime.class) {
+                args[i] = lower ? LocalDate.now().minusDays(90).atStartOfDay() : LocalDateTime.now();
+            } else if (Collection.class.isAssignableFrom(type)) {
+                args[i] = List.of(userId);
+            } else if (type == int.class || type == Integer.class) {
+                args[i] = name.contains("offset") ? 0 : 20;
+            } else if (type == Pageable.class) {
+                args[i] = PageRequest.of(0, 20);
+            } else if (type == LinkRequest.Status.class) {
+                args[i] = LinkRequest.Status.ACCEPTED;
+            } else if (type == JournalUser.class) {
+                args[i] = em.getReference(JournalUser.class, userId);
+            } else if (type == CounsellorUser.class) {
+                args[i] = em.getReference(CounsellorUser.class, counsellorId);
+            } else {
+                throw new IllegalArgumentException("no sample value for " + type.getSimpleName());
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,167 @@
+package com.moodyclues;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.moodyclues.datasource.ReadYourWrites;
+import com.moodyclues.datasource.ReadYourWritesInterceptor;
+import com.moodyclues.datasource.ReplicaRoutingDataSource;
+
+import jakarta.servlet.http.Cookie;
+
+// Two embedded H2 databases stand in for the primary and the replica, each with a
+// one-row table naming itself, wired the same way as ReplicaDataSourceConfig.
+class ReplicaRoutingTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+
+        jdbc = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unpin();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS db_name (name VARCHAR(16))");
+        setup.execute("DELETE FROM db_name");
+        setup.update("INSERT INTO db_name VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String whichDatabase() {
+        return jdbc.queryForObject("SELECT name FROM db_name", String.class);
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    void testNoTransactionUsesPrimary() {
+        assertEquals("primary", whichDatabase());
+    }
+
+    @Test
+    void testPinnedReadOnlyTransactionUsesPrimary() {
+        ReadYourWrites.pinToPrimary();
+
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    void testReadYourWritesWindow() throws InterruptedException {
+        ReadYourWrites readYourWrites = new ReadYourWrites(true, Duration.ofMillis(200), 100);
+
+        readYourWrites.markWrite("u1");
+
+        assertTrue(readYourWrites.wroteRecently("u1"));
+        assertFalse(readYourWrites.wroteRecently("u2"));
+
+        Thread.sleep(300);
+        assertFalse(readYourWrites.wroteRecently("u1"));
+    }
+
+    @Test
+    void testReadYourWritesDisabledWithoutReplica() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(false, Duration.ofSeconds(5), 100);
+
+        readYourWrites.markWrite("u1");
+
+        assertFalse(readYourWrites.wroteRecently("u1"));
+    }
+
+    @Test
+    void testInterceptorDropsPinWhenRequestGoesAsync() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor();
+        ReadYourWrites.pinToPrimary();
+
+        interceptor.afterConcurrentHandlingStarted(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    @Test
+    void testInterceptorIgnoresPinLeftOnThread() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor();
+        ReflectionTestUtils.setField(interceptor, "readYourWrites", new ReadYourWrites(true, Duration.ofSeconds(5), 100));
+        ReadYourWrites.pinToPrimary();
+
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/dashboard/window"), new MockHttpServletResponse(), null);
+
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    @Test
+    void testWriteSetsWindowCookie() {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor();
+        ReflectionTestUtils.setField(interceptor, "readYourWrites", new ReadYourWrites(true, Duration.ofSeconds(5), 100));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/journal/submit");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+
+        Cookie cookie = response.getCookie(ReadYourWritesInterceptor.COOKIE);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertEquals(5, cookie.getMaxAge());
+    }
+
+    @Test
+    void testWindowCookiePinsOnNodeThatDidNotTakeWrite() {
+        // Fresh ReadYourWrites: this node never saw the write
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor();
+        ReflectionTestUtils.setField(interceptor, "readYourWrites", new ReadYourWrites(true, Duration.ofSeconds(5), 100));
+
+        MockHttpServletRequest open = new MockHttpServletRequest("GET", "/api/dashboard/window");
+        open.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE, String.valueOf(System.currentTimeMillis() + 5000)));
+        interceptor.preHandle(open, new MockHttpServletResponse(), null);
+        assertTrue(ReadYourWrites.isPinned());
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/dashboard/window");
+        expired.setCookies(new Cookie(ReadYourWritesInterceptor.COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+        interceptor.preHandle(expired, new MockHttpServletResponse(), null);
+        assertFalse(ReadYourWrites.isPinned());
+    }
+}
@@ -0,0 +1,10 @@
+-- Same 8 emotions as V2, for the embedded database LoadTest runs against
+INSERT INTO emotions (id, emotion_label, icon_address) VALUES
+(RANDOM_UUID(), 'angry', NULL),
+(RANDOM_UUID(), 'sad', NULL),
+(RANDOM_UUID(), 'anxious', NULL),
+(RANDOM_UUID(), 'happy', NULL),
+(RANDOM_UUID(), 'curious', NULL),
+(RANDOM_UUID(), 'confused', NULL),
+(RANDOM_UUID(), 'surprised', NULL),
+(RANDOM_UUID(), 'neutral', NULL);